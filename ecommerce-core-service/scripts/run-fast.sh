@@ -0,0 +1,18 @@
+#!/bin/bash
+
+# Run the fast-startup build (mvn -Pfast-startup package) with its AOT
+# initializers and AppCDS archive. Extra arguments are passed to Spring Boot.
+
+cd "$(dirname "$0")/.." || exit 1
+
+JAR=target/ecommerce-core-service-1.0.0.jar
+CDS_ARCHIVE=target/app.jsa
+
+if [ ! -f "$CDS_ARCHIVE" ] || [ ! -d target/lib ]; then
+    echo "Fast-startup build not found. Run: mvn -Pfast-startup package -DskipTests" >&2
+    exit 1
+fi
+
+exec java -XX:SharedArchiveFile="$CDS_ARCHIVE" -Xlog:cds=off -Xlog:cds+dynamic=off \
+    -Dspring.aot.enabled=true \
+    -jar "$JAR" --spring.profiles.active=prod "$@"
@@ -0,0 +1,74 @@
+#!/bin/bash
+
+# Startup-time benchmark: standard fat jar vs. fast-startup build (AOT + AppCDS + prod profile)
+#
+# Usage: scripts/startup-benchmark.sh [runs]
+#
+# Each run starts the service on an in-memory H2 database in MySQL mode (the h2
+# profile) and measures the time until GET /api/config/ready answers 200, i.e.
+# until warm-up has finished and the service is ready to serve. Override the
+# datasource with DB_ARGS, e.g.
+#   DB_ARGS="--spring.datasource.url=jdbc:mysql://localhost:3306/ecommerce_db" scripts/startup-benchmark.sh
+
+cd "$(dirname "$0")/.." || exit 1
+
+RUNS=${1:-5}
+PORT=${PORT:-18090}
+BENCH_DIR=${BENCH_DIR:-$(mktemp -d -t startup-benchmark.XXXXXX)}
+READY_URL="http://localhost:${PORT}/api/config/ready"
+DB_ARGS=${DB_ARGS:-"--spring.profiles.include=h2"}
+
+mkdir -p "$BENCH_DIR"
+
+echo "Building standard jar..."
+mvn -B -q clean package -DskipTests || exit 1
+cp target/ecommerce-core-service-1.0.0.jar "$BENCH_DIR/standard.jar"
+
+echo "Building fast-startup jar (AOT + AppCDS)..."
+mvn -B -q -Pfast-startup clean package -DskipTests > "$BENCH_DIR/fast-build.log" 2>&1 || { cat "$BENCH_DIR/fast-build.log"; exit 1; }
+
+now_ms() {
+    date +%s%3N
+}
+
+# measure <label> <command...>: prints startup time in ms for each run, then a summary
+measure() {
+    local label=$1
+    shift
+    local times=()
+    for i in $(seq 1 "$RUNS"); do
+        local start
+        start=$(now_ms)
+        "$@" --server.port="$PORT" $DB_ARGS > "$BENCH_DIR/${label}-${i}.log" 2>&1 &
+        local pid=$!
+        until curl -sf "$READY_URL" > /dev/null 2>&1; do
+            if ! kill -0 "$pid" 2> /dev/null; then
+                echo "$label run $i: process exited, see $BENCH_DIR/${label}-${i}.log" >&2
+                return 1
+            fi
+            sleep 0.05
+        done
+        local elapsed=$(( $(now_ms) - start ))
+        times+=("$elapsed")
+        kill "$pid"
+        wait "$pid" 2> /dev/null
+        echo "  $label run $i: ${elapsed} ms"
+    done
+    printf '%s\n' "${times[@]}" | sort -n | awk -v label="$label" '
+        { t[NR] = $1; sum += $1 }
+        END { printf "%-10s min %6d ms  median %6d ms  avg %6d ms  max %6d ms\n", label, t[1], t[int((NR + 1) / 2)], sum / NR, t[NR] }' \
+        >> "$BENCH_DIR/summary.txt"
+}
+
+rm -f "$BENCH_DIR/summary.txt"
+
+echo "Measuring standard startup ($RUNS runs)..."
+measure standard java -jar "$BENCH_DIR/standard.jar"
+
+echo "Measuring fast startup ($RUNS runs)..."
+measure fast java -XX:SharedArchiveFile=target/app.jsa -Xlog:cds=off -Xlog:cds+dynamic=off \
+    -Dspring.aot.enabled=true -jar target/ecommerce-core-service-1.0.0.jar --spring.profiles.active=prod
+
+echo ""
+echo "Time to ready (logs in $BENCH_DIR):"
+cat "$BENCH_DIR/summary.txt"
@@ -0,0 +1,33 @@
+package com.ecommerce.core.config;
+
+import com.ecommerce.core.metrics.PoolMetrics;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Attaches {@link PoolMetrics} to the Hikari pool before it starts
+ */
+@Configuration
+public class DataSourcePoolConfig {
+
+    @Bean
+    public PoolMetrics poolMetrics() {
+        return new PoolMetrics();
+    }
+
+    @Bean
+    public static BeanPostProcessor poolMetricsPostProcessor(ObjectProvider<PoolMetrics> poolMetrics) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource dataSource) {
+                    dataSource.setMetricsTrackerFactory(poolMetrics.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+}
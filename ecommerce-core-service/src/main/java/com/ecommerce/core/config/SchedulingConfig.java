@@ -0,0 +1,12 @@
+package com.ecommerce.core.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables {@code @Scheduled} background jobs (counter reconciliation etc.)
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
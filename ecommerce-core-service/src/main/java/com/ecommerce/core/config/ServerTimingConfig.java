@@ -0,0 +1,20 @@
+package com.ecommerce.core.config;
+
+import com.ecommerce.core.metrics.QueryCountingInspector;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registers the statement inspector that gives {@code Server-Timing} its
+ * per-request query counts
+ */
+@Configuration
+public class ServerTimingConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer queryCountingCustomizer() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new QueryCountingInspector());
+    }
+}
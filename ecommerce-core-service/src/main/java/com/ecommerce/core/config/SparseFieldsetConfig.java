@@ -0,0 +1,27 @@
+package com.ecommerce.core.config;
+
+import com.ecommerce.core.controller.SparseFieldsetAdvice;
+import com.ecommerce.core.dto.CategoryDTO;
+import com.ecommerce.core.dto.ProductDTO;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Puts product and category DTOs behind the {@code fields=} property filter.
+ * Without a selection the filter writes every property; the JSON, CBOR and
+ * Smile mappers all come from the customized builder.
+ */
+@Configuration
+public class SparseFieldsetConfig {
+
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer sparseFieldsetCustomizer() {
+        return builder -> builder
+                .mixIn(ProductDTO.class, SparseFieldsetAdvice.FieldsetFiltered.class)
+                .mixIn(CategoryDTO.class, SparseFieldsetAdvice.FieldsetFiltered.class)
+                .filters(new SimpleFilterProvider().setDefaultFilter(SimpleBeanPropertyFilter.serializeAll()));
+    }
+}
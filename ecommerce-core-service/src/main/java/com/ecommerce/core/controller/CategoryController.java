@@ -1,8 +1,10 @@
 package com.ecommerce.core.controller;
 
 import com.ecommerce.core.dto.CategoryDTO;
+import com.ecommerce.core.dto.CategoryTreeDTO;
 import com.ecommerce.core.service.CategoryService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -26,8 +28,18 @@ public class CategoryController {
      */
     @GetMapping
     @Operation(summary = "Get all categories", description = "Retrieve all active categories")
-    public ResponseEntity<List<CategoryDTO>> getAllCategories() {
-        return ResponseEntity.ok(categoryService.getAllCategories());
+    public ResponseEntity<List<CategoryDTO>> getAllCategories(
+            @RequestParam(required = false) @Parameter(description = ProductController.FIELDS_DESCRIPTION) String fields) {
+        return ResponseEntity.ok(categoryService.getAllCategories(fields));
+    }
+
+    /**
+     * Get the active category hierarchy
+     */
+    @GetMapping("/tree")
+    @Operation(summary = "Get category tree", description = "Active categories as a nested tree with own and subtree product counts, served from memory")
+    public ResponseEntity<List<CategoryTreeDTO>> getCategoryTree() {
+        return ResponseEntity.ok(categoryService.getCategoryTree());
     }
 
     /**
@@ -35,8 +47,9 @@ public class CategoryController {
      */
     @GetMapping("/admin/all")
     @Operation(summary = "Get all categories (Admin)", description = "Retrieve all categories including inactive ones")
-    public ResponseEntity<List<CategoryDTO>> getAllCategoriesAdmin() {
-        return ResponseEntity.ok(categoryService.getAllCategoriesAdmin());
+    public ResponseEntity<List<CategoryDTO>> getAllCategoriesAdmin(
+            @RequestParam(required = false) @Parameter(description = ProductController.FIELDS_DESCRIPTION) String fields) {
+        return ResponseEntity.ok(categoryService.getAllCategoriesAdmin(fields));
     }
 
     /**
@@ -44,8 +57,10 @@ public class CategoryController {
      */
     @GetMapping("/{id}")
     @Operation(summary = "Get category by ID", description = "Retrieve a category by its ID")
-    public ResponseEntity<CategoryDTO> getCategoryById(@PathVariable Long id) {
-        return ResponseEntity.ok(categoryService.getCategoryById(id));
+    public ResponseEntity<CategoryDTO> getCategoryById(
+            @PathVariable Long id,
+            @RequestParam(required = false) @Parameter(description = ProductController.FIELDS_DESCRIPTION) String fields) {
+        return ResponseEntity.ok(categoryService.getCategoryById(id, fields));
     }
 
     /**
@@ -1,14 +1,22 @@
 package com.ecommerce.core.controller;
 
+import com.ecommerce.core.service.FeatureFlags;
+import com.ecommerce.core.service.WarmupService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
@@ -16,42 +24,29 @@ import java.util.Map;
 
 @RestController
 @RequestMapping("/config")
+@RequiredArgsConstructor
 @Slf4j
 @Tag(name = "Configuration", description = "Configuration and feature toggle endpoints")
 @CrossOrigin(origins = "*", maxAge = 3600)
 public class ConfigController {
 
-    @Value("${feature.auth.enabled:false}")
-    private boolean authEnabled;
-
-    @Value("${feature.payment.enabled:false}")
-    private boolean paymentEnabled;
-
-    @Value("${feature.email.enabled:false}")
-    private boolean emailEnabled;
-
-    @Value("${feature.sms.enabled:false}")
-    private boolean smsEnabled;
-
-    @Value("${feature.storage.enabled:false}")
-    private boolean storageEnabled;
+    private final WarmupService warmupService;
+    private final FeatureFlags featureFlags;
 
     @Value("${spring.application.name:ecommerce-core-service}")
     private String applicationName;
 
     @GetMapping("/features")
-    @Operation(summary = "Get all feature toggles")
-    public ResponseEntity<Map<String, Object>> getFeatureToggles() {
-        log.info("Fetching feature toggles");
-        Map<String, Object> features = new HashMap<>();
-
-        features.put("authEnabled", authEnabled);
-        features.put("paymentEnabled", paymentEnabled);
-        features.put("emailEnabled", emailEnabled);
-        features.put("smsEnabled", smsEnabled);
-        features.put("storageEnabled", storageEnabled);
+    @Operation(summary = "Get all feature toggles", description = "Served from the current flag snapshot with an ETag; If-None-Match gets 304 until a flag changes")
+    public ResponseEntity<byte[]> getFeatureToggles(WebRequest request) {
+        return features(featureFlags.snapshot(), request);
+    }
 
-        return ResponseEntity.ok(features);
+    @PostMapping("/features/reload")
+    @Operation(summary = "Re-read feature flags now", description = "Reloads the flags file and feature_flags table instead of waiting for the next poll")
+    public ResponseEntity<byte[]> reloadFeatureToggles(WebRequest request) {
+        log.info("Feature flag reload requested");
+        return features(featureFlags.reload(), request);
     }
 
     @GetMapping("/health")
@@ -63,9 +58,19 @@ public class ConfigController {
         response.put("service", applicationName);
         response.put("timestamp", LocalDateTime.now().toString());
         response.put("version", "1.0.0");
+        response.put("ready", warmupService.isReady());
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/ready")
+    @Operation(summary = "Readiness check, 503 until startup warm-up has completed")
+    public ResponseEntity<Map<String, Object>> ready() {
+        Map<String, Object> response = new HashMap<>(warmupService.status());
+        boolean ready = warmupService.isReady();
+        response.put("status", ready ? "READY" : "WARMING_UP");
+        return ResponseEntity.status(ready ? HttpStatus.OK : HttpStatus.SERVICE_UNAVAILABLE).body(response);
+    }
+
     @GetMapping("/info")
     @Operation(summary = "Get application information")
     public ResponseEntity<Map<String, Object>> getAppInfo() {
@@ -74,12 +79,18 @@ public class ConfigController {
         info.put("name", applicationName);
         info.put("version", "1.0.0");
         info.put("description", "E-Commerce Core Service - Toggle-based modular architecture");
-        info.put("features", Map.of(
-                "auth", authEnabled,
-                "payment", paymentEnabled,
-                "email", emailEnabled,
-                "sms", smsEnabled,
-                "storage", storageEnabled));
+        info.put("features", featureFlags.snapshot().flags());
         return ResponseEntity.ok(info);
     }
+
+    private static ResponseEntity<byte[]> features(FeatureFlags.Snapshot snapshot, WebRequest request) {
+        if (request.checkNotModified(snapshot.etag())) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(snapshot.etag())
+                .cacheControl(CacheControl.noCache())
+                .body(snapshot.json());
+    }
 }
@@ -0,0 +1,82 @@
+package com.ecommerce.core.controller;
+
+import com.ecommerce.core.metrics.AdaptivePoolSizer;
+import com.ecommerce.core.metrics.PoolMetrics;
+import com.ecommerce.core.service.CatalogView;
+import com.ecommerce.core.service.FeatureFlags;
+import com.ecommerce.core.service.NegativeLookupCache;
+import com.ecommerce.core.service.RelatedProducts;
+import com.ecommerce.core.service.SingleFlight;
+import com.ecommerce.core.service.TrendingTracker;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/diagnostics")
+@RequiredArgsConstructor
+@Tag(name = "Diagnostics", description = "Runtime telemetry endpoints")
+@CrossOrigin(origins = "*", maxAge = 3600)
+public class DiagnosticsController {
+
+    private final PoolMetrics poolMetrics;
+    private final AdaptivePoolSizer adaptivePoolSizer;
+    private final SingleFlight singleFlight;
+    private final CatalogView catalogView;
+    private final TrendingTracker trendingTracker;
+    private final NegativeLookupCache negativeCache;
+    private final FeatureFlags featureFlags;
+    private final RelatedProducts relatedProducts;
+
+    @GetMapping("/pool")
+    @Operation(summary = "Get connection pool telemetry", description = "Active/idle/pending counts, acquire and usage time histograms, timeouts and adaptive sizing state")
+    public ResponseEntity<Map<String, Object>> getPoolMetrics() {
+        Map<String, Object> response = new LinkedHashMap<>(poolMetrics.toMap());
+        response.put("adaptive", adaptivePoolSizer.toMap());
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/coalescing")
+    @Operation(summary = "Get request coalescing statistics", description = "Per-method executions, calls that shared an in-flight result, and followers that timed out waiting")
+    public ResponseEntity<Map<String, Object>> getCoalescingStats() {
+        return ResponseEntity.ok(singleFlight.toMap());
+    }
+
+    @GetMapping("/catalog")
+    @Operation(summary = "Get catalog snapshot state", description = "Where the catalog view was loaded from, snapshot size and watermark, overlay size, catch-up and lookup hit/miss counts")
+    public ResponseEntity<Map<String, Object>> getCatalogSnapshot() {
+        return ResponseEntity.ok(catalogView.toMap());
+    }
+
+    @GetMapping("/trending")
+    @Operation(summary = "Get view sketch state", description = "Sketch dimensions, heavy-hitter candidates, admission floor and views recorded")
+    public ResponseEntity<Map<String, Object>> getTrendingStats() {
+        return ResponseEntity.ok(trendingTracker.toMap());
+    }
+
+    @GetMapping("/related")
+    @Operation(summary = "Get related-products index state", description = "Products with co-occurrence rows, customers tracked, neighbor cap, last rebuild time and enquiries recorded since")
+    public ResponseEntity<Map<String, Object>> getRelatedProductsStats() {
+        return ResponseEntity.ok(relatedProducts.toMap());
+    }
+
+    @GetMapping("/negative-cache")
+    @Operation(summary = "Get negative lookup cache state", description = "Product and category ids currently cached as missing, and lookups answered without a query")
+    public ResponseEntity<Map<String, Object>> getNegativeCacheStats() {
+        return ResponseEntity.ok(negativeCache.toMap());
+    }
+
+    @GetMapping("/features")
+    @Operation(summary = "Get feature flag registry state", description = "Snapshot version and ETag, which source set each flag, reload count and the last reload error")
+    public ResponseEntity<Map<String, Object>> getFeatureFlags() {
+        return ResponseEntity.ok(featureFlags.toMap());
+    }
+}
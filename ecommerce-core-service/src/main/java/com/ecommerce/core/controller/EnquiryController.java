@@ -1,10 +1,17 @@
 package com.ecommerce.core.controller;
 
+import com.ecommerce.core.dto.BulkEnquiryRequest;
+import com.ecommerce.core.dto.BulkOperationResultDTO;
 import com.ecommerce.core.dto.EnquiryDTO;
+import com.ecommerce.core.dto.EnquirySliceDTO;
 import com.ecommerce.core.model.Enquiry.EnquiryStatus;
+import com.ecommerce.core.service.EnquiryArchiveService;
+import com.ecommerce.core.service.EnquiryBulkService;
+import com.ecommerce.core.service.EnquiryExportService;
 import com.ecommerce.core.service.EnquiryService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
@@ -12,11 +19,19 @@ import jakarta.validation.constraints.Positive;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+
 @RestController
 @RequestMapping("/enquiries")
 @RequiredArgsConstructor
@@ -27,6 +42,9 @@ import org.springframework.web.bind.annotation.*;
 public class EnquiryController {
 
     private final EnquiryService enquiryService;
+    private final EnquiryArchiveService enquiryArchiveService;
+    private final EnquiryBulkService enquiryBulkService;
+    private final EnquiryExportService enquiryExportService;
 
     @PostMapping
     @Operation(summary = "Create new enquiry")
@@ -39,9 +57,10 @@ public class EnquiryController {
     @GetMapping("/{id}")
     @Operation(summary = "Get enquiry by ID")
     public ResponseEntity<EnquiryDTO> getEnquiryById(
-            @PathVariable @Positive(message = "Enquiry ID must be positive") Long id) {
+            @PathVariable @Positive(message = "Enquiry ID must be positive") Long id,
+            @RequestParam(defaultValue = "false") boolean includeArchived) {
         log.info("Fetching enquiry with id: {}", id);
-        EnquiryDTO enquiry = enquiryService.getEnquiryById(id);
+        EnquiryDTO enquiry = enquiryService.getEnquiryById(id, includeArchived);
         return ResponseEntity.ok(enquiry);
     }
 
@@ -66,6 +85,50 @@ public class EnquiryController {
         return ResponseEntity.ok(enquiries);
     }
 
+    @GetMapping("/slice")
+    @Operation(summary = "Get enquiries without a total count", description = "Keyset-paginated listing; pass nextCursor back as cursor to fetch the following page")
+    public ResponseEntity<EnquirySliceDTO> getEnquirySlice(
+            @RequestParam(required = false) EnquiryStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") @Min(value = 1, message = "Size must be at least 1") @Max(value = 100, message = "Size cannot exceed 100") int size,
+            @RequestParam(defaultValue = "false") boolean includeArchived) {
+        log.info("Fetching enquiry slice - status: {}, size: {}", status, size);
+        return ResponseEntity.ok(enquiryService.getEnquirySlice(status, cursor, size, includeArchived));
+    }
+
+    @GetMapping("/export")
+    @Operation(summary = "Export enquiries as CSV or NDJSON", description = "Streams every matching enquiry, oldest first, in a single response (format: csv or ndjson); createdFrom is inclusive, createdBefore exclusive, both ISO date-times")
+    public void exportEnquiries(
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(required = false) EnquiryStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdBefore,
+            HttpServletResponse response) throws IOException {
+        EnquiryExportService.Format exportFormat = EnquiryExportService.Format.parse(format);
+        enquiryExportService.validate(createdFrom, createdBefore);
+        log.info("Exporting enquiries as {} - status: {}, createdFrom: {}, createdBefore: {}",
+                exportFormat, status, createdFrom, createdBefore);
+        response.setContentType(exportFormat.mediaType().toString());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename("enquiries-" + LocalDate.now() + "." + exportFormat.extension())
+                .build()
+                .toString());
+        enquiryExportService.export(exportFormat, status, createdFrom, createdBefore, response.getOutputStream());
+    }
+
+    @PostMapping("/archive")
+    @Operation(summary = "Archive old resolved enquiries now", description = "Runs the scheduled archival job immediately")
+    public ResponseEntity<Map<String, Integer>> archiveResolvedEnquiries() {
+        log.info("Manual enquiry archival requested");
+        return ResponseEntity.ok(Map.of("archived", enquiryArchiveService.archiveResolved()));
+    }
+
+    @GetMapping("/counts")
+    @Operation(summary = "Get enquiry counts by status")
+    public ResponseEntity<Map<String, Long>> getEnquiryCounts() {
+        return ResponseEntity.ok(enquiryService.getEnquiryCounts());
+    }
+
     @PutMapping("/{id}/status")
     @Operation(summary = "Update enquiry status")
     public ResponseEntity<EnquiryDTO> updateEnquiryStatus(
@@ -76,6 +139,20 @@ public class EnquiryController {
         return ResponseEntity.ok(updatedEnquiry);
     }
 
+    @PutMapping("/bulk/status")
+    @Operation(summary = "Bulk update enquiry status", description = "Targets the given ids and/or the currentStatus + createdBefore filter; applied in chunks, each committed separately")
+    public ResponseEntity<BulkOperationResultDTO> bulkUpdateStatus(
+            @RequestParam EnquiryStatus status,
+            @Valid @RequestBody BulkEnquiryRequest request) {
+        return ResponseEntity.ok(enquiryBulkService.updateStatus(request, status));
+    }
+
+    @PostMapping("/bulk/delete")
+    @Operation(summary = "Bulk delete enquiries", description = "Targets the given ids and/or the currentStatus + createdBefore filter; applied in chunks, each committed separately")
+    public ResponseEntity<BulkOperationResultDTO> bulkDelete(@Valid @RequestBody BulkEnquiryRequest request) {
+        return ResponseEntity.ok(enquiryBulkService.delete(request));
+    }
+
     @DeleteMapping("/{id}")
     @Operation(summary = "Delete enquiry")
     public ResponseEntity<Void> deleteEnquiry(
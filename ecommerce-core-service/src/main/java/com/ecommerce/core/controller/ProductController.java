@@ -1,8 +1,13 @@
 package com.ecommerce.core.controller;
 
 import com.ecommerce.core.dto.ProductDTO;
+import com.ecommerce.core.dto.ProductSearchHitDTO;
+import com.ecommerce.core.dto.RelatedProductDTO;
+import com.ecommerce.core.dto.TrendingProductDTO;
 import com.ecommerce.core.service.ProductService;
+import com.ecommerce.core.service.WarmupService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Min;
@@ -25,53 +30,97 @@ import java.util.List;
 @Validated
 public class ProductController {
 
+    static final String SEARCH_MODE_DESCRIPTION = "natural (default) or boolean: +required -excluded \"exact phrase\" prefix*";
+    static final String FIELDS_DESCRIPTION = "Comma-separated fields to return, e.g. id,name,price,image,rating (id is always included)";
+
     private final ProductService productService;
+    private final WarmupService warmupService;
 
     @GetMapping
     @Operation(summary = "Get all products")
-    public ResponseEntity<List<ProductDTO>> getAllProducts() {
+    public ResponseEntity<List<ProductDTO>> getAllProducts(
+            @RequestParam(required = false) @Parameter(description = FIELDS_DESCRIPTION) String fields) {
         log.info("Fetching all products");
-        List<ProductDTO> products = productService.getAllProducts();
+        List<ProductDTO> products = productService.getAllProducts(fields);
         return ResponseEntity.ok(products);
     }
 
     @GetMapping("/{id}")
     @Operation(summary = "Get product by ID")
     public ResponseEntity<ProductDTO> getProductById(
-            @PathVariable @Positive(message = "Product ID must be positive") Long id) {
+            @PathVariable @Positive(message = "Product ID must be positive") Long id,
+            @RequestParam(required = false) @Parameter(description = FIELDS_DESCRIPTION) String fields,
+            @RequestHeader(value = WarmupService.WARMUP_HEADER, required = false) @Parameter(hidden = true) String warmup) {
         log.info("Fetching product with id: {}", id);
-        ProductDTO product = productService.getProductById(id);
+        ProductDTO product = productService.getProductById(id, fields);
+        // Counted here rather than in the coalesced service read, so every view is recorded; warm-up replays are not
+        if (!warmupService.isWarmupRequest(warmup)) {
+            productService.recordView(id);
+        }
         return ResponseEntity.ok(product);
     }
 
+    @GetMapping("/trending")
+    @Operation(summary = "Get trending products", description = "Most viewed active products by time-decayed view count, tracked in memory per instance")
+    public ResponseEntity<List<TrendingProductDTO>> getTrendingProducts(
+            @RequestParam(required = false) @Positive(message = "Limit must be positive") Integer limit) {
+        log.info("Fetching trending products, limit: {}", limit);
+        return ResponseEntity.ok(productService.getTrendingProducts(limit));
+    }
+
+    @GetMapping("/{id}/related")
+    @Operation(summary = "Get products customers also asked about", description = "Products most often enquired about by the same customers, strongest first, served from in-memory co-occurrence counts")
+    public ResponseEntity<List<RelatedProductDTO>> getRelatedProducts(
+            @PathVariable @Positive(message = "Product ID must be positive") Long id,
+            @RequestParam(required = false) @Positive(message = "Limit must be positive") Integer limit) {
+        log.info("Fetching products related to {}, limit: {}", id, limit);
+        return ResponseEntity.ok(productService.getRelatedProducts(id, limit));
+    }
+
     @GetMapping("/category/{categoryId}")
     @Operation(summary = "Get products by category")
     public ResponseEntity<List<ProductDTO>> getProductsByCategory(
-            @PathVariable @Positive(message = "Category ID must be positive") Long categoryId) {
-        log.info("Fetching products for category: {}", categoryId);
-        List<ProductDTO> products = productService.getProductsByCategory(categoryId);
+            @PathVariable @Positive(message = "Category ID must be positive") Long categoryId,
+            @RequestParam(defaultValue = "false") @Parameter(description = "Also include products of all descendant categories") boolean includeSubcategories,
+            @RequestParam(required = false) @Parameter(description = FIELDS_DESCRIPTION) String fields) {
+        log.info("Fetching products for category: {} (subcategories: {})", categoryId, includeSubcategories);
+        List<ProductDTO> products = productService.getProductsByCategory(categoryId, includeSubcategories, fields);
         return ResponseEntity.ok(products);
     }
 
     @GetMapping("/search")
-    @Operation(summary = "Search products")
+    @Operation(summary = "Search products", description = "Relevance-ranked search, capped at the configured maximum result count")
     public ResponseEntity<List<ProductDTO>> searchProducts(
-            @RequestParam(required = false, defaultValue = "") String q) {
-        log.info("Searching products with query: {}", q);
+            @RequestParam(required = false, defaultValue = "") String q,
+            @RequestParam(required = false) @Parameter(description = SEARCH_MODE_DESCRIPTION) String mode,
+            @RequestParam(required = false) @Positive(message = "Limit must be positive") Integer limit,
+            @RequestParam(required = false) @Parameter(description = FIELDS_DESCRIPTION) String fields) {
+        log.info("Searching products with query: {}, mode: {}, limit: {}", q, mode, limit);
         // Sanitize and validate search query
         String sanitizedQuery = q.trim();
         if (sanitizedQuery.length() > 200) {
             sanitizedQuery = sanitizedQuery.substring(0, 200);
         }
-        List<ProductDTO> products = productService.searchProducts(sanitizedQuery);
+        List<ProductDTO> products = productService.searchProducts(sanitizedQuery, mode, limit, fields);
         return ResponseEntity.ok(products);
     }
 
+    @GetMapping("/search/scored")
+    @Operation(summary = "Search products with relevance scores", description = "Same search as /products/search, with each product's relevance score")
+    public ResponseEntity<List<ProductSearchHitDTO>> searchProductsWithScores(
+            @RequestParam String q,
+            @RequestParam(required = false) @Parameter(description = SEARCH_MODE_DESCRIPTION) String mode,
+            @RequestParam(required = false) @Positive(message = "Limit must be positive") Integer limit) {
+        log.info("Scored product search with query: {}, mode: {}, limit: {}", q, mode, limit);
+        return ResponseEntity.ok(productService.searchProductsWithScores(q.trim(), mode, limit));
+    }
+
     @GetMapping("/price-range")
     @Operation(summary = "Find products by price range")
     public ResponseEntity<List<ProductDTO>> findByPriceRange(
             @RequestParam @Min(value = 0, message = "Minimum price cannot be negative") Double minPrice,
-            @RequestParam @Min(value = 0, message = "Maximum price cannot be negative") Double maxPrice) {
+            @RequestParam @Min(value = 0, message = "Maximum price cannot be negative") Double maxPrice,
+            @RequestParam(required = false) @Parameter(description = FIELDS_DESCRIPTION) String fields) {
         log.info("Finding products in price range: {} - {}", minPrice, maxPrice);
         // Validate price range logic
         if (minPrice > maxPrice) {
@@ -80,7 +129,7 @@ public class ProductController {
             maxPrice = temp;
             log.info("Swapped price range to: {} - {}", minPrice, maxPrice);
         }
-        List<ProductDTO> products = productService.findByPriceRange(minPrice, maxPrice);
+        List<ProductDTO> products = productService.findByPriceRange(minPrice, maxPrice, fields);
         return ResponseEntity.ok(products);
     }
 
@@ -0,0 +1,71 @@
+package com.ecommerce.core.controller;
+
+import com.ecommerce.core.dto.CategoryDTO;
+import com.ecommerce.core.dto.ProductDTO;
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.util.StringUtils;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.AbstractMappingJacksonResponseBodyAdvice;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Applies {@code fields=} to product and category responses so unselected
+ * properties are left out of the body instead of being written as null.
+ * The selection is a Jackson property filter, so the DTOs are serialized
+ * once and unselected properties are never written. The services have
+ * already validated the selection and, where possible, read only the
+ * selected columns.
+ */
+@RestControllerAdvice(assignableTypes = { ProductController.class, CategoryController.class })
+public class SparseFieldsetAdvice extends AbstractMappingJacksonResponseBodyAdvice {
+
+    public static final String FILTER_ID = "fieldset";
+
+    /** Mix-in that puts a DTO behind the {@link #FILTER_ID} filter */
+    @JsonFilter(FILTER_ID)
+    public interface FieldsetFiltered {
+    }
+
+    @Override
+    protected void beforeBodyWriteInternal(MappingJacksonValue bodyContainer, MediaType contentType,
+            MethodParameter returnType, ServerHttpRequest request, ServerHttpResponse response) {
+        if (!(request instanceof ServletServerHttpRequest servletRequest)) {
+            return;
+        }
+        String fields = servletRequest.getServletRequest().getParameter("fields");
+        if (!StringUtils.hasText(fields) || !isFieldsetBody(bodyContainer.getValue())) {
+            return;
+        }
+        Set<String> selected = new LinkedHashSet<>();
+        selected.add("id");
+        for (String field : fields.split(",")) {
+            if (StringUtils.hasText(field)) {
+                selected.add(field.trim());
+            }
+        }
+        bodyContainer.setFilters(new SimpleFilterProvider()
+                .addFilter(FILTER_ID, SimpleBeanPropertyFilter.filterOutAllExcept(selected)));
+    }
+
+    private static boolean isFieldsetBody(Object body) {
+        if (body instanceof Collection<?> items) {
+            return items.stream().allMatch(SparseFieldsetAdvice::isFieldsetDTO);
+        }
+        return isFieldsetDTO(body);
+    }
+
+    private static boolean isFieldsetDTO(Object value) {
+        return value instanceof ProductDTO || value instanceof CategoryDTO;
+    }
+}
@@ -0,0 +1,28 @@
+package com.ecommerce.core.dto;
+
+import com.ecommerce.core.model.Enquiry.EnquiryStatus;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+/**
+ * Target set for bulk enquiry operations: explicit {@code ids}, a filter, or
+ * both. Every given criterion must match for a row to be changed.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkEnquiryRequest {
+    @Size(max = 10000, message = "At most 10000 ids per request")
+    private Set<Long> ids;
+
+    /** Only enquiries currently in this status */
+    private EnquiryStatus currentStatus;
+
+    /** Only enquiries created strictly before this time */
+    private LocalDateTime createdBefore;
+}
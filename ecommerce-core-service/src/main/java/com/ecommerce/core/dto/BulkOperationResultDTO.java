@@ -0,0 +1,35 @@
+package com.ecommerce.core.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Outcome of a chunked bulk operation. Each chunk commits on its own, so a
+ * failed chunk leaves earlier ones applied; {@code complete} is false when
+ * processing stopped early or the per-request chunk limit was reached.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkOperationResultDTO {
+    private String operation;
+    private long affected;
+    private boolean complete;
+    private List<ChunkResult> chunks;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class ChunkResult {
+        private int chunk;
+        private int candidates;
+        private int affected;
+        private long durationMs;
+        private String error;
+    }
+}
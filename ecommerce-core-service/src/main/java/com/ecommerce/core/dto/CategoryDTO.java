@@ -11,7 +11,7 @@ import java.time.LocalDateTime;
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
-@Builder
+@Builder(toBuilder = true)
 public class CategoryDTO {
     private Long id;
 
@@ -25,10 +25,22 @@ public class CategoryDTO {
     @Size(max = 500, message = "Image URL must be less than 500 characters")
     private String image;
 
+    /** Parent category id; omit or null for a top-level category */
+    private Long parentId;
+
+    /** Read-only materialized path of ancestor ids, e.g. /3/17/42/ */
+    private String path;
+
     private Boolean active;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
+    /** Active products in this category, from in-memory counters */
+    private Long productCount;
+
+    /** Sum of stock over the active products in this category */
+    private Long totalStock;
+
     // Convert from Entity to DTO
     public static CategoryDTO fromEntity(Category category) {
         return CategoryDTO.builder()
@@ -36,6 +48,8 @@ public class CategoryDTO {
                 .name(category.getName())
                 .description(category.getDescription())
                 .image(category.getImage())
+                .parentId(category.getParentId())
+                .path(category.getPath())
                 .active(category.getActive())
                 .createdAt(category.getCreatedAt())
                 .updatedAt(category.getUpdatedAt())
@@ -49,6 +63,7 @@ public class CategoryDTO {
                 .name(this.name)
                 .description(this.description)
                 .image(this.image)
+                .parentId(this.parentId)
                 .active(this.active != null ? this.active : true)
                 .build();
     }
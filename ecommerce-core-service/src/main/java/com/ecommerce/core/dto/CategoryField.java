@@ -0,0 +1,89 @@
+package com.ecommerce.core.dto;
+
+import com.ecommerce.core.exception.ValidationException;
+import jakarta.persistence.Tuple;
+import org.springframework.util.StringUtils;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
+
+/**
+ * Selectable {@link CategoryDTO} properties for {@code fields=} sparse
+ * fieldsets. Property names match the entity attributes, so a selection maps
+ * straight onto the columns to read.
+ */
+public enum CategoryField {
+    ID("id", (dto, value) -> dto.setId((Long) value)),
+    NAME("name", (dto, value) -> dto.setName((String) value)),
+    DESCRIPTION("description", (dto, value) -> dto.setDescription((String) value)),
+    IMAGE("image", (dto, value) -> dto.setImage((String) value)),
+    PARENT_ID("parentId", (dto, value) -> dto.setParentId((Long) value)),
+    PATH("path", (dto, value) -> dto.setPath((String) value)),
+    ACTIVE("active", (dto, value) -> dto.setActive((Boolean) value)),
+    CREATED_AT("createdAt", (dto, value) -> dto.setCreatedAt((LocalDateTime) value)),
+    UPDATED_AT("updatedAt", (dto, value) -> dto.setUpdatedAt((LocalDateTime) value)),
+    // Filled from in-memory counters, not read from a column
+    PRODUCT_COUNT("productCount", null),
+    TOTAL_STOCK("totalStock", null);
+
+    private final String property;
+    private final BiConsumer<CategoryDTO, Object> setter;
+
+    CategoryField(String property, BiConsumer<CategoryDTO, Object> setter) {
+        this.property = property;
+        this.setter = setter;
+    }
+
+    public boolean isColumn() {
+        return setter != null;
+    }
+
+    public String getProperty() {
+        return property;
+    }
+
+    /**
+     * Parse a comma-separated {@code fields} parameter. Returns an empty set
+     * when no selection was made (all fields); {@code id} is always included.
+     */
+    public static Set<CategoryField> parse(String fields) {
+        if (!StringUtils.hasText(fields)) {
+            return Collections.emptySet();
+        }
+        Set<CategoryField> selected = EnumSet.of(ID);
+        for (String name : fields.split(",")) {
+            String trimmed = name.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            selected.add(Arrays.stream(values())
+                    .filter(field -> field.property.equals(trimmed))
+                    .findFirst()
+                    .orElseThrow(() -> new ValidationException("Unknown category field: " + trimmed)));
+        }
+        return selected;
+    }
+
+    public static List<String> properties(Set<CategoryField> fields) {
+        return fields.stream()
+                .filter(CategoryField::isColumn)
+                .map(CategoryField::getProperty)
+                .collect(Collectors.toList());
+    }
+
+    public static CategoryDTO toDTO(Tuple tuple, Set<CategoryField> fields) {
+        CategoryDTO dto = new CategoryDTO();
+        for (CategoryField field : fields) {
+            if (field.isColumn()) {
+                field.setter.accept(dto, tuple.get(field.property));
+            }
+        }
+        return dto;
+    }
+}
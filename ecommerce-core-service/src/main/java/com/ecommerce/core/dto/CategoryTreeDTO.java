@@ -0,0 +1,24 @@
+package com.ecommerce.core.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * A node of the active category tree. {@code subtreeProductCount} covers this
+ * category and all of its descendants.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CategoryTreeDTO {
+    private Long id;
+    private String name;
+    private String image;
+    private Long parentId;
+    private long productCount;
+    private long subtreeProductCount;
+    private List<CategoryTreeDTO> children;
+}
@@ -0,0 +1,22 @@
+package com.ecommerce.core.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Count-free page of enquiries. {@code nextCursor} is an opaque keyset token
+ * for the following page; {@code total} comes from in-memory status counters.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EnquirySliceDTO {
+    private List<EnquiryDTO> content;
+    private int size;
+    private boolean hasNext;
+    private String nextCursor;
+    private long total;
+}
@@ -1,5 +1,6 @@
 package com.ecommerce.core.dto;
 
+import com.ecommerce.core.model.Product;
 import jakarta.validation.constraints.*;
 import lombok.*;
 
@@ -42,4 +43,25 @@ public class ProductDTO {
     private Boolean active;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+
+    /** Optimistic lock version; required on update, where a stale one is rejected */
+    private Long version;
+
+    // Convert from Entity to DTO
+    public static ProductDTO fromEntity(Product product) {
+        return ProductDTO.builder()
+                .id(product.getId())
+                .name(product.getName())
+                .description(product.getDescription())
+                .price(product.getPrice())
+                .categoryId(product.getCategoryId())
+                .image(product.getImage())
+                .stock(product.getStock())
+                .rating(product.getRating())
+                .active(product.getActive())
+                .createdAt(product.getCreatedAt())
+                .updatedAt(product.getUpdatedAt())
+                .version(product.getVersion())
+                .build();
+    }
 }
@@ -0,0 +1,80 @@
+package com.ecommerce.core.dto;
+
+import com.ecommerce.core.exception.ValidationException;
+import jakarta.persistence.Tuple;
+import org.springframework.util.StringUtils;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
+
+/**
+ * Selectable {@link ProductDTO} properties for {@code fields=} sparse
+ * fieldsets. Property names match the entity attributes, so a selection maps
+ * straight onto the columns to read.
+ */
+public enum ProductField {
+    ID("id", (dto, value) -> dto.setId((Long) value)),
+    NAME("name", (dto, value) -> dto.setName((String) value)),
+    DESCRIPTION("description", (dto, value) -> dto.setDescription((String) value)),
+    PRICE("price", (dto, value) -> dto.setPrice((Double) value)),
+    CATEGORY_ID("categoryId", (dto, value) -> dto.setCategoryId((Long) value)),
+    IMAGE("image", (dto, value) -> dto.setImage((String) value)),
+    STOCK("stock", (dto, value) -> dto.setStock((Integer) value)),
+    RATING("rating", (dto, value) -> dto.setRating((Double) value)),
+    ACTIVE("active", (dto, value) -> dto.setActive((Boolean) value)),
+    CREATED_AT("createdAt", (dto, value) -> dto.setCreatedAt((LocalDateTime) value)),
+    UPDATED_AT("updatedAt", (dto, value) -> dto.setUpdatedAt((LocalDateTime) value)),
+    VERSION("version", (dto, value) -> dto.setVersion((Long) value));
+
+    private final String property;
+    private final BiConsumer<ProductDTO, Object> setter;
+
+    ProductField(String property, BiConsumer<ProductDTO, Object> setter) {
+        this.property = property;
+        this.setter = setter;
+    }
+
+    public String getProperty() {
+        return property;
+    }
+
+    /**
+     * Parse a comma-separated {@code fields} parameter. Returns an empty set
+     * when no selection was made (all fields); {@code id} is always included.
+     */
+    public static Set<ProductField> parse(String fields) {
+        if (!StringUtils.hasText(fields)) {
+            return Collections.emptySet();
+        }
+        Set<ProductField> selected = EnumSet.of(ID);
+        for (String name : fields.split(",")) {
+            String trimmed = name.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            selected.add(Arrays.stream(values())
+                    .filter(field -> field.property.equals(trimmed))
+                    .findFirst()
+                    .orElseThrow(() -> new ValidationException("Unknown product field: " + trimmed)));
+        }
+        return selected;
+    }
+
+    public static List<String> properties(Set<ProductField> fields) {
+        return fields.stream().map(ProductField::getProperty).collect(Collectors.toList());
+    }
+
+    public static ProductDTO toDTO(Tuple tuple, Set<ProductField> fields) {
+        ProductDTO dto = new ProductDTO();
+        for (ProductField field : fields) {
+            field.setter.accept(dto, tuple.get(field.property));
+        }
+        return dto;
+    }
+}
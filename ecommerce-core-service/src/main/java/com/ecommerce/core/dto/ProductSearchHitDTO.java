@@ -0,0 +1,18 @@
+package com.ecommerce.core.dto;
+
+import lombok.*;
+
+/**
+ * A search match with its relevance score: MySQL full-text relevance when
+ * the FULLTEXT index served the search, the in-process ranking score
+ * otherwise. Only comparable between hits of the same response.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductSearchHitDTO {
+    private ProductDTO product;
+    private double score;
+}
@@ -0,0 +1,17 @@
+package com.ecommerce.core.dto;
+
+import lombok.*;
+
+/**
+ * A product asked about by the same customers as the requested one, with
+ * how many distinct customers (by email) enquired about both.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RelatedProductDTO {
+    private ProductDTO product;
+    private long customers;
+}
@@ -0,0 +1,17 @@
+package com.ecommerce.core.dto;
+
+import lombok.*;
+
+/**
+ * A trending product with its time-decayed view score (an estimate from the
+ * view sketch, comparable only between products of the same response).
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TrendingProductDTO {
+    private ProductDTO product;
+    private long score;
+}
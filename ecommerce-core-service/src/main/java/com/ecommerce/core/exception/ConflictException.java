@@ -0,0 +1,14 @@
+package com.ecommerce.core.exception;
+
+/**
+ * A normal outcome of concurrent edits (409), created without a stack trace.
+ */
+public class ConflictException extends RuntimeException {
+    public ConflictException(String message) {
+        super(message, null, false, false);
+    }
+
+    public ConflictException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
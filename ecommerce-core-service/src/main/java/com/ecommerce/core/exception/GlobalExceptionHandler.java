@@ -3,6 +3,8 @@ package com.ecommerce.core.exception;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -14,8 +16,10 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 import org.springframework.web.servlet.NoHandlerFoundException;
+import org.springframework.web.servlet.resource.NoResourceFoundException;
 
 import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -24,28 +28,39 @@ import java.util.stream.Collectors;
 @Slf4j
 public class GlobalExceptionHandler {
 
+    private final LogRateLimiter logLimiter;
+
+    public GlobalExceptionHandler(@Value("${errors.log.max-per-window:10}") int maxLogsPerWindow,
+            @Value("${errors.log.window-ms:10000}") long logWindowMs) {
+        this.logLimiter = new LogRateLimiter(maxLogsPerWindow, logWindowMs);
+    }
+
     @ExceptionHandler(ResourceNotFoundException.class)
     public ResponseEntity<ErrorResponse> handleResourceNotFound(ResourceNotFoundException e) {
-        log.warn("Resource not found: {}", e.getMessage());
-        ErrorResponse error = ErrorResponse.builder()
-                .timestamp(LocalDateTime.now())
-                .status(HttpStatus.NOT_FOUND.value())
-                .error("Not Found")
-                .message(e.getMessage())
-                .build();
-        return new ResponseEntity<>(error, HttpStatus.NOT_FOUND);
+        warn("Resource not found: {}", e.getMessage());
+        return respond(HttpStatus.NOT_FOUND, "Not Found", e.getMessage());
     }
 
     @ExceptionHandler(ValidationException.class)
     public ResponseEntity<ErrorResponse> handleValidation(ValidationException e) {
-        log.warn("Validation error: {}", e.getMessage());
-        ErrorResponse error = ErrorResponse.builder()
-                .timestamp(LocalDateTime.now())
-                .status(HttpStatus.BAD_REQUEST.value())
-                .error("Validation Error")
-                .message(e.getMessage())
-                .build();
-        return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+        warn("Validation error: {}", e.getMessage());
+        return respond(HttpStatus.BAD_REQUEST, "Validation Error", e.getMessage());
+    }
+
+    @ExceptionHandler(ConflictException.class)
+    public ResponseEntity<ErrorResponse> handleConflict(ConflictException e) {
+        warn("Conflict: {}", e.getMessage());
+        return respond(HttpStatus.CONFLICT, "Conflict", e.getMessage());
+    }
+
+    /**
+     * Handle version conflicts raised by Hibernate when flushing a stale entity
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> handleOptimisticLocking(OptimisticLockingFailureException e) {
+        warn("Optimistic locking conflict: {}", e.getMessage());
+        return respond(HttpStatus.CONFLICT, "Conflict",
+                "The resource was modified by another request; reload and retry");
     }
 
     /**
@@ -53,7 +68,7 @@ public class GlobalExceptionHandler {
      */
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ErrorResponse> handleMethodArgumentNotValid(MethodArgumentNotValidException e) {
-        log.warn("Validation failed for request body: {}", e.getMessage());
+        warn("Validation failed for request body: {}", e.getMessage());
 
         Map<String, String> fieldErrors = new HashMap<>();
         e.getBindingResult().getFieldErrors()
@@ -79,7 +94,7 @@ public class GlobalExceptionHandler {
      */
     @ExceptionHandler(ConstraintViolationException.class)
     public ResponseEntity<ErrorResponse> handleConstraintViolation(ConstraintViolationException e) {
-        log.warn("Constraint violation: {}", e.getMessage());
+        warn("Constraint violation: {}", e.getMessage());
 
         Map<String, String> violations = new HashMap<>();
         for (ConstraintViolation<?> violation : e.getConstraintViolations()) {
@@ -107,19 +122,13 @@ public class GlobalExceptionHandler {
      */
     @ExceptionHandler(MethodArgumentTypeMismatchException.class)
     public ResponseEntity<ErrorResponse> handleTypeMismatch(MethodArgumentTypeMismatchException e) {
-        log.warn("Type mismatch: {} - expected type: {}", e.getName(), e.getRequiredType());
+        warn("Type mismatch: {} - expected type: {}", e.getName(), e.getRequiredType());
 
         String message = String.format("Invalid value '%s' for parameter '%s'. Expected type: %s",
                 e.getValue(), e.getName(),
                 e.getRequiredType() != null ? e.getRequiredType().getSimpleName() : "unknown");
 
-        ErrorResponse error = ErrorResponse.builder()
-                .timestamp(LocalDateTime.now())
-                .status(HttpStatus.BAD_REQUEST.value())
-                .error("Type Mismatch")
-                .message(message)
-                .build();
-        return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+        return respond(HttpStatus.BAD_REQUEST, "Type Mismatch", message);
     }
 
     /**
@@ -127,18 +136,12 @@ public class GlobalExceptionHandler {
      */
     @ExceptionHandler(MissingServletRequestParameterException.class)
     public ResponseEntity<ErrorResponse> handleMissingParams(MissingServletRequestParameterException e) {
-        log.warn("Missing parameter: {}", e.getParameterName());
+        warn("Missing parameter: {}", e.getParameterName());
 
         String message = String.format("Required parameter '%s' of type '%s' is missing",
                 e.getParameterName(), e.getParameterType());
 
-        ErrorResponse error = ErrorResponse.builder()
-                .timestamp(LocalDateTime.now())
-                .status(HttpStatus.BAD_REQUEST.value())
-                .error("Missing Parameter")
-                .message(message)
-                .build();
-        return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+        return respond(HttpStatus.BAD_REQUEST, "Missing Parameter", message);
     }
 
     /**
@@ -146,15 +149,10 @@ public class GlobalExceptionHandler {
      */
     @ExceptionHandler(HttpMessageNotReadableException.class)
     public ResponseEntity<ErrorResponse> handleHttpMessageNotReadable(HttpMessageNotReadableException e) {
-        log.warn("Invalid request body: {}", e.getMessage());
+        warn("Invalid request body: {}", e.getMessage());
 
-        ErrorResponse error = ErrorResponse.builder()
-                .timestamp(LocalDateTime.now())
-                .status(HttpStatus.BAD_REQUEST.value())
-                .error("Invalid Request Body")
-                .message("Request body is missing or contains invalid JSON")
-                .build();
-        return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+        return respond(HttpStatus.BAD_REQUEST, "Invalid Request Body",
+                "Request body is missing or contains invalid JSON");
     }
 
     /**
@@ -162,19 +160,13 @@ public class GlobalExceptionHandler {
      */
     @ExceptionHandler(HttpRequestMethodNotSupportedException.class)
     public ResponseEntity<ErrorResponse> handleMethodNotSupported(HttpRequestMethodNotSupportedException e) {
-        log.warn("Method not supported: {}", e.getMethod());
+        warn("Method not supported: {}", e.getMethod());
 
         String message = String.format("HTTP method '%s' is not supported for this endpoint. Supported methods: %s",
                 e.getMethod(),
                 String.join(", ", e.getSupportedMethods() != null ? e.getSupportedMethods() : new String[] {}));
 
-        ErrorResponse error = ErrorResponse.builder()
-                .timestamp(LocalDateTime.now())
-                .status(HttpStatus.METHOD_NOT_ALLOWED.value())
-                .error("Method Not Allowed")
-                .message(message)
-                .build();
-        return new ResponseEntity<>(error, HttpStatus.METHOD_NOT_ALLOWED);
+        return respond(HttpStatus.METHOD_NOT_ALLOWED, "Method Not Allowed", message);
     }
 
     /**
@@ -182,15 +174,10 @@ public class GlobalExceptionHandler {
      */
     @ExceptionHandler(HttpMediaTypeNotSupportedException.class)
     public ResponseEntity<ErrorResponse> handleMediaTypeNotSupported(HttpMediaTypeNotSupportedException e) {
-        log.warn("Media type not supported: {}", e.getContentType());
+        warn("Media type not supported: {}", e.getContentType());
 
-        ErrorResponse error = ErrorResponse.builder()
-                .timestamp(LocalDateTime.now())
-                .status(HttpStatus.UNSUPPORTED_MEDIA_TYPE.value())
-                .error("Unsupported Media Type")
-                .message("Content type '" + e.getContentType() + "' is not supported. Use 'application/json'")
-                .build();
-        return new ResponseEntity<>(error, HttpStatus.UNSUPPORTED_MEDIA_TYPE);
+        return respond(HttpStatus.UNSUPPORTED_MEDIA_TYPE, "Unsupported Media Type",
+                "Content type '" + e.getContentType() + "' is not supported. Use 'application/json'");
     }
 
     /**
@@ -198,15 +185,21 @@ public class GlobalExceptionHandler {
      */
     @ExceptionHandler(NoHandlerFoundException.class)
     public ResponseEntity<ErrorResponse> handleNoHandlerFound(NoHandlerFoundException e) {
-        log.warn("No handler found: {} {}", e.getHttpMethod(), e.getRequestURL());
+        warn("No handler found: {} {}", e.getHttpMethod(), e.getRequestURL());
 
-        ErrorResponse error = ErrorResponse.builder()
-                .timestamp(LocalDateTime.now())
-                .status(HttpStatus.NOT_FOUND.value())
-                .error("Not Found")
-                .message("No endpoint found for " + e.getHttpMethod() + " " + e.getRequestURL())
-                .build();
-        return new ResponseEntity<>(error, HttpStatus.NOT_FOUND);
+        return respond(HttpStatus.NOT_FOUND, "Not Found",
+                "No endpoint found for " + e.getHttpMethod() + " " + e.getRequestURL());
+    }
+
+    /**
+     * Handle requests for paths nothing is mapped to (probes and scanners)
+     */
+    @ExceptionHandler(NoResourceFoundException.class)
+    public ResponseEntity<ErrorResponse> handleNoResourceFound(NoResourceFoundException e) {
+        warn("No endpoint found: {} /{}", e.getHttpMethod(), e.getResourcePath());
+
+        return respond(HttpStatus.NOT_FOUND, "Not Found",
+                "No endpoint found for " + e.getHttpMethod() + " /" + e.getResourcePath());
     }
 
     /**
@@ -214,15 +207,9 @@ public class GlobalExceptionHandler {
      */
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<ErrorResponse> handleIllegalArgument(IllegalArgumentException e) {
-        log.warn("Illegal argument: {}", e.getMessage());
+        warn("Illegal argument: {}", e.getMessage());
 
-        ErrorResponse error = ErrorResponse.builder()
-                .timestamp(LocalDateTime.now())
-                .status(HttpStatus.BAD_REQUEST.value())
-                .error("Invalid Argument")
-                .message(e.getMessage())
-                .build();
-        return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+        return respond(HttpStatus.BAD_REQUEST, "Invalid Argument", e.getMessage());
     }
 
     /**
@@ -230,14 +217,44 @@ public class GlobalExceptionHandler {
      */
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleGenericException(Exception e) {
-        log.error("Unexpected error occurred: ", e);
+        long suppressed = logLimiter.acquire(e.getClass().getName());
+        if (suppressed == 0) {
+            log.error("Unexpected error occurred: ", e);
+        } else if (suppressed > 0) {
+            log.error("Unexpected error occurred ({} similar suppressed): ", suppressed, e);
+        }
 
-        ErrorResponse error = ErrorResponse.builder()
+        return respond(HttpStatus.INTERNAL_SERVER_ERROR, "Internal Server Error",
+                "An unexpected error occurred. Please try again later.");
+    }
+
+    /**
+     * Error body without details
+     */
+    private ResponseEntity<ErrorResponse> respond(HttpStatus status, String error, String message) {
+        ErrorResponse body = ErrorResponse.builder()
                 .timestamp(LocalDateTime.now())
-                .status(HttpStatus.INTERNAL_SERVER_ERROR.value())
-                .error("Internal Server Error")
-                .message("An unexpected error occurred. Please try again later.")
+                .status(status.value())
+                .error(error)
+                .message(message)
                 .build();
-        return new ResponseEntity<>(error, HttpStatus.INTERNAL_SERVER_ERROR);
+        return new ResponseEntity<>(body, status);
+    }
+
+    private void warn(String format, Object... args) {
+        if (!log.isWarnEnabled()) {
+            return;
+        }
+        long suppressed = logLimiter.acquire(format);
+        if (suppressed < 0) {
+            return;
+        }
+        if (suppressed == 0) {
+            log.warn(format, args);
+            return;
+        }
+        Object[] withCount = Arrays.copyOf(args, args.length + 1);
+        withCount[args.length] = suppressed;
+        log.warn(format + " ({} similar suppressed)", withCount);
     }
 }
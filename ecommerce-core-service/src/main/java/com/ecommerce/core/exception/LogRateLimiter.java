@@ -0,0 +1,51 @@
+package com.ecommerce.core.exception;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Allows at most {@code maxPerWindow} log lines per key and time window and
+ * counts the rest, so a flood of identical errors costs a counter increment
+ * instead of a log write.
+ */
+class LogRateLimiter {
+
+    private final int maxPerWindow;
+    private final long windowNanos;
+    private final Map<String, Window> windows = new ConcurrentHashMap<>();
+
+    LogRateLimiter(int maxPerWindow, long windowMillis) {
+        this.maxPerWindow = maxPerWindow;
+        this.windowNanos = windowMillis * 1_000_000L;
+    }
+
+    /**
+     * @return -1 when this occurrence should not be logged, otherwise the
+     *         number of occurrences suppressed since the last logged one
+     */
+    long acquire(String key) {
+        Window window = windows.computeIfAbsent(key, k -> new Window(System.nanoTime()));
+        long now = System.nanoTime();
+        long start = window.start.get();
+        if (now - start >= windowNanos && window.start.compareAndSet(start, now)) {
+            window.logged.set(0);
+        }
+        if (window.logged.incrementAndGet() <= maxPerWindow) {
+            return window.suppressed.getAndSet(0);
+        }
+        window.suppressed.incrementAndGet();
+        return -1;
+    }
+
+    private static final class Window {
+        private final AtomicLong start;
+        private final AtomicInteger logged = new AtomicInteger();
+        private final AtomicLong suppressed = new AtomicLong();
+
+        Window(long start) {
+            this.start = new AtomicLong(start);
+        }
+    }
+}
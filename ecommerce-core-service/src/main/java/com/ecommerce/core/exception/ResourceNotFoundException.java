@@ -1,8 +1,12 @@
 package com.ecommerce.core.exception;
 
+/**
+ * Raised on every miss, including id scans by bots, so it skips stack trace
+ * capture; only the message reaches the client.
+ */
 public class ResourceNotFoundException extends RuntimeException {
     public ResourceNotFoundException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 
     public ResourceNotFoundException(String message, Throwable cause) {
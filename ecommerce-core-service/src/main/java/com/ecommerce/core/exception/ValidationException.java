@@ -1,8 +1,12 @@
 package com.ecommerce.core.exception;
 
+/**
+ * Bad client input. Stackless, like the other domain exceptions, unless a
+ * cause is attached.
+ */
 public class ValidationException extends RuntimeException {
     public ValidationException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 
     public ValidationException(String message, Throwable cause) {
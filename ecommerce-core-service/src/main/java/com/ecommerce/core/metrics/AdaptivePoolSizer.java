@@ -0,0 +1,139 @@
+package com.ecommerce.core.metrics;
+
+import com.zaxxer.hikari.HikariConfigMXBean;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Optional controller that resizes the Hikari pool within bounds. Each
+ * interval it looks at that interval's acquire wait and connection hold time:
+ * callers queueing while queries stay fast means the pool is too small; hold
+ * time above budget means the database is the bottleneck, so the pool is not
+ * grown (more connections would only add contention); an idle pool shrinks.
+ */
+@Component
+@Slf4j
+public class AdaptivePoolSizer {
+
+    private final PoolMetrics poolMetrics;
+    private final ObjectProvider<DataSource> dataSource;
+
+    @Value("${db.pool.adaptive.enabled:false}")
+    private boolean enabled;
+
+    @Value("${db.pool.adaptive.min-size:5}")
+    private int minSize;
+
+    @Value("${db.pool.adaptive.max-size:30}")
+    private int maxSize;
+
+    @Value("${db.pool.adaptive.step:2}")
+    private int step;
+
+    @Value("${db.pool.adaptive.target-acquire-ms:5}")
+    private double targetAcquireMs;
+
+    @Value("${db.pool.adaptive.max-usage-ms:250}")
+    private double maxUsageMs;
+
+    @Value("${db.pool.adaptive.shrink-utilization:0.3}")
+    private double shrinkUtilization;
+
+    private LatencyHistogram.Snapshot lastAcquire;
+    private LatencyHistogram.Snapshot lastUsage;
+    private long lastTimeouts;
+    private volatile String lastDecision = "none";
+    private volatile LocalDateTime lastResizeAt;
+
+    public AdaptivePoolSizer(PoolMetrics poolMetrics, ObjectProvider<DataSource> dataSource) {
+        this.poolMetrics = poolMetrics;
+        this.dataSource = dataSource;
+    }
+
+    @Scheduled(fixedDelayString = "${db.pool.adaptive.interval-ms:10000}", initialDelayString = "${db.pool.adaptive.interval-ms:10000}")
+    public synchronized void adjust() {
+        LatencyHistogram.Snapshot acquireNow = poolMetrics.acquireSnapshot();
+        LatencyHistogram.Snapshot usageNow = poolMetrics.usageSnapshot();
+        long timeoutsNow = poolMetrics.timeouts();
+        LatencyHistogram.Snapshot acquire = lastAcquire != null ? acquireNow.minus(lastAcquire) : acquireNow;
+        LatencyHistogram.Snapshot usage = lastUsage != null ? usageNow.minus(lastUsage) : usageNow;
+        long newTimeouts = timeoutsNow - lastTimeouts;
+        lastAcquire = acquireNow;
+        lastUsage = usageNow;
+        lastTimeouts = timeoutsNow;
+
+        if (!enabled) {
+            return;
+        }
+        HikariConfigMXBean pool = poolConfig();
+        if (pool == null) {
+            return;
+        }
+
+        int current = pool.getMaximumPoolSize();
+        double acquireP95 = acquire.percentileMillis(0.95);
+        double usageP95 = usage.percentileMillis(0.95);
+        int target = current;
+
+        boolean starved = newTimeouts > 0 || poolMetrics.pendingThreads() > 0 || acquireP95 > targetAcquireMs;
+        if (starved && usageP95 <= maxUsageMs) {
+            target = Math.min(maxSize, current + step);
+        } else if (!starved && poolMetrics.activeConnections() < current * shrinkUtilization) {
+            // An interval with no acquires at all counts as underused, so an idle pool steps down too
+            target = Math.max(minSize, current - step);
+        }
+
+        if (target != current) {
+            if (pool.getMinimumIdle() > target) {
+                pool.setMinimumIdle(target);
+            }
+            pool.setMaximumPoolSize(target);
+            lastResizeAt = LocalDateTime.now();
+            lastDecision = String.format("%d -> %d (acquire p95 %.1f ms, usage p95 %.1f ms, timeouts %d)",
+                    current, target, acquireP95, usageP95, newTimeouts);
+            log.info("Resized connection pool: {}", lastDecision);
+        } else if (starved) {
+            lastDecision = String.format("hold at %d (acquire p95 %.1f ms, usage p95 %.1f ms over budget)",
+                    current, acquireP95, usageP95);
+        }
+    }
+
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("enabled", enabled);
+        map.put("minSize", minSize);
+        map.put("maxSize", maxSize);
+        HikariConfigMXBean pool = poolConfig();
+        if (pool != null) {
+            map.put("maximumPoolSize", pool.getMaximumPoolSize());
+            map.put("minimumIdle", pool.getMinimumIdle());
+        }
+        map.put("lastDecision", lastDecision);
+        map.put("lastResizeAt", lastResizeAt != null ? lastResizeAt.toString() : null);
+        return map;
+    }
+
+    private HikariConfigMXBean poolConfig() {
+        DataSource ds = dataSource.getIfAvailable();
+        if (ds == null) {
+            return null;
+        }
+        try {
+            HikariDataSource hikari = ds instanceof HikariDataSource h ? h
+                    : ds.isWrapperFor(HikariDataSource.class) ? ds.unwrap(HikariDataSource.class) : null;
+            return hikari != null ? hikari.getHikariConfigMXBean() : null;
+        } catch (SQLException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.ecommerce.core.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free fixed-bucket latency histogram. Recording is a couple of
+ * {@link LongAdder} increments; percentiles are read from snapshots and
+ * resolve to the upper bound of the bucket they fall in.
+ */
+public class LatencyHistogram {
+
+    private static final long[] BOUNDS_MICROS = {
+            50, 100, 250, 500,
+            1_000, 2_500, 5_000, 10_000, 25_000, 50_000, 100_000, 250_000, 500_000,
+            1_000_000, 2_500_000, 5_000_000, 10_000_000, 30_000_000, Long.MAX_VALUE };
+
+    private final LongAdder[] buckets = new LongAdder[BOUNDS_MICROS.length];
+    private final LongAdder sumMicros = new LongAdder();
+    private final LongAccumulator maxMicros = new LongAccumulator(Math::max, 0);
+
+    public LatencyHistogram() {
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    public void recordNanos(long nanos) {
+        recordMicros(nanos / 1_000);
+    }
+
+    public void recordMillis(long millis) {
+        recordMicros(millis * 1_000);
+    }
+
+    public void recordMicros(long micros) {
+        long value = Math.max(0, micros);
+        buckets[bucketIndex(value)].increment();
+        sumMicros.add(value);
+        maxMicros.accumulate(value);
+    }
+
+    public Snapshot snapshot() {
+        long[] counts = new long[buckets.length];
+        for (int i = 0; i < buckets.length; i++) {
+            counts[i] = buckets[i].sum();
+        }
+        return new Snapshot(counts, sumMicros.sum(), maxMicros.get());
+    }
+
+    private static int bucketIndex(long micros) {
+        for (int i = 0; i < BOUNDS_MICROS.length; i++) {
+            if (micros <= BOUNDS_MICROS[i]) {
+                return i;
+            }
+        }
+        return BOUNDS_MICROS.length - 1;
+    }
+
+    /**
+     * Immutable point-in-time view. Subtracting an earlier snapshot gives the
+     * distribution for just that interval.
+     */
+    public record Snapshot(long[] counts, long sumMicros, long maxMicros) {
+
+        public long count() {
+            long total = 0;
+            for (long c : counts) {
+                total += c;
+            }
+            return total;
+        }
+
+        public double meanMillis() {
+            long count = count();
+            return count == 0 ? 0 : sumMicros / 1_000.0 / count;
+        }
+
+        /**
+         * Upper bound (ms) of the bucket holding the given quantile, 0 when empty
+         */
+        public double percentileMillis(double quantile) {
+            long count = count();
+            if (count == 0) {
+                return 0;
+            }
+            long rank = (long) Math.ceil(quantile * count);
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return Math.min(BOUNDS_MICROS[i], maxMicros) / 1_000.0;
+                }
+            }
+            return maxMicros / 1_000.0;
+        }
+
+        public Snapshot minus(Snapshot earlier) {
+            long[] delta = new long[counts.length];
+            for (int i = 0; i < counts.length; i++) {
+                delta[i] = counts[i] - earlier.counts[i];
+            }
+            return new Snapshot(delta, sumMicros - earlier.sumMicros, maxMicros);
+        }
+
+        public Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("count", count());
+            map.put("meanMs", round(meanMillis()));
+            map.put("p50Ms", percentileMillis(0.50));
+            map.put("p95Ms", percentileMillis(0.95));
+            map.put("p99Ms", percentileMillis(0.99));
+            map.put("maxMs", maxMicros / 1_000.0);
+            Map<String, Long> histogram = new LinkedHashMap<>();
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] > 0) {
+                    String label = BOUNDS_MICROS[i] == Long.MAX_VALUE ? "+Inf" : "le_" + (BOUNDS_MICROS[i] / 1_000.0) + "ms";
+                    histogram.put(label, counts[i]);
+                }
+            }
+            map.put("buckets", histogram);
+            return map;
+        }
+
+        private static double round(double value) {
+            return Math.round(value * 1_000) / 1_000.0;
+        }
+    }
+}
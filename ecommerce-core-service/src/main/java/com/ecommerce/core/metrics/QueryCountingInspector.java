@@ -0,0 +1,19 @@
+package com.ecommerce.core.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements Hibernate prepares for the current timed
+ * request; the SQL itself passes through unchanged
+ */
+public class QueryCountingInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        RequestTiming timing = RequestTiming.current();
+        if (timing != null) {
+            timing.recordQuery();
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,217 @@
+package com.ecommerce.core.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Stage timings of the request being handled on the current thread: time in
+ * service methods, each repository method with the SQL statements it ran,
+ * and response serialization. Only nanoTime deltas and counters are kept
+ * while the request runs; strings are built once, at the end.
+ * <p>
+ * Not thread-safe; work a request hands to other threads is not attributed.
+ */
+public final class RequestTiming {
+
+    private static final ThreadLocal<RequestTiming> CURRENT = new ThreadLocal<>();
+
+    private final long startNanos = System.nanoTime();
+    private final int maxRepositoryEntries;
+
+    private int serviceDepth;
+    private long serviceStart;
+    private long serviceNanos;
+    private int serviceCalls;
+
+    private int repositoryDepth;
+    private long repositoryNanos;
+    private int repositoryCalls;
+    private final Map<String, RepositoryStats> repositories = new LinkedHashMap<>();
+
+    private int queries;
+    private long serializationStart = -1;
+    private long endNanos = -1;
+
+    private RequestTiming(int maxRepositoryEntries) {
+        this.maxRepositoryEntries = maxRepositoryEntries;
+    }
+
+    /**
+     * Start timing on this thread; callers must {@link #stop()} in a finally block
+     */
+    public static RequestTiming start(int maxRepositoryEntries) {
+        RequestTiming timing = new RequestTiming(maxRepositoryEntries);
+        CURRENT.set(timing);
+        return timing;
+    }
+
+    /**
+     * The timing of this thread's request, or {@code null} when not timing
+     */
+    public static RequestTiming current() {
+        return CURRENT.get();
+    }
+
+    public static void stop() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Enter a service method; only the outermost one is timed, so nested
+     * service calls are not counted twice
+     */
+    public void enterService() {
+        if (serviceDepth++ == 0) {
+            serviceStart = System.nanoTime();
+            serviceCalls++;
+        }
+    }
+
+    public void exitService() {
+        if (--serviceDepth == 0) {
+            serviceNanos += System.nanoTime() - serviceStart;
+        }
+    }
+
+    /**
+     * Enter a repository method; only the outermost call is recorded
+     */
+    public void enterRepository() {
+        repositoryDepth++;
+    }
+
+    public void exitRepository(String method, long nanos, int statements) {
+        if (--repositoryDepth > 0) {
+            return;
+        }
+        repositoryNanos += nanos;
+        repositoryCalls++;
+        RepositoryStats stats = repositories.get(method);
+        if (stats == null) {
+            if (repositories.size() >= maxRepositoryEntries) {
+                stats = repositories.computeIfAbsent("other", m -> new RepositoryStats());
+            } else {
+                stats = new RepositoryStats();
+                repositories.put(method, stats);
+            }
+        }
+        stats.calls++;
+        stats.nanos += nanos;
+        stats.queries += statements;
+    }
+
+    /**
+     * Count one SQL statement prepared by Hibernate
+     */
+    public void recordQuery() {
+        queries++;
+    }
+
+    public int queries() {
+        return queries;
+    }
+
+    /**
+     * Mark the start of response body serialization; the first mark wins
+     */
+    public void markSerializationStart() {
+        if (serializationStart < 0) {
+            serializationStart = System.nanoTime();
+        }
+    }
+
+    /**
+     * Freeze the end of the request; later calls keep the first end time
+     */
+    public void end() {
+        if (endNanos < 0) {
+            endNanos = System.nanoTime();
+        }
+    }
+
+    public long totalNanos() {
+        return (endNanos >= 0 ? endNanos : System.nanoTime()) - startNanos;
+    }
+
+    private long serializationNanos() {
+        if (serializationStart < 0) {
+            return 0;
+        }
+        return (endNanos >= 0 ? endNanos : System.nanoTime()) - serializationStart;
+    }
+
+    /**
+     * {@code Server-Timing} header value. {@code filter} is whatever the
+     * request spent outside services and serialization: the filter chain,
+     * dispatch, argument binding and controller code. Service time includes
+     * the repository calls made from services.
+     */
+    public String toHeader() {
+        long total = totalNanos();
+        long serialization = serializationNanos();
+        StringBuilder header = new StringBuilder(256);
+        metric(header, "total", total, null);
+        metric(header, "filter", Math.max(0, total - serviceNanos - serialization),
+                "filters, dispatch and controller");
+        metric(header, "service", serviceNanos, plural(serviceCalls, "call"));
+        metric(header, "db", repositoryNanos, plural(repositoryCalls, "call") + ", " + plural(queries, "query"));
+        repositories.forEach((method, stats) -> metric(header, "db." + method, stats.nanos,
+                plural(stats.calls, "call") + ", " + plural(stats.queries, "query")));
+        metric(header, "ser", serialization, "serialization");
+        return header.toString();
+    }
+
+    /**
+     * Space separated {@code key=value} pairs for the timing log line
+     */
+    public String toLogFields() {
+        long total = totalNanos();
+        long serialization = serializationNanos();
+        StringBuilder line = new StringBuilder(128)
+                .append("totalMs=").append(millis(total))
+                .append(" serviceMs=").append(millis(serviceNanos))
+                .append(" dbMs=").append(millis(repositoryNanos))
+                .append(" repositoryCalls=").append(repositoryCalls)
+                .append(" queries=").append(queries)
+                .append(" serMs=").append(millis(serialization));
+        if (!repositories.isEmpty()) {
+            line.append(" repositories=");
+            String separator = "";
+            for (Map.Entry<String, RepositoryStats> entry : repositories.entrySet()) {
+                line.append(separator).append(entry.getKey())
+                        .append(':').append(millis(entry.getValue().nanos))
+                        .append('/').append(entry.getValue().queries);
+                separator = ",";
+            }
+        }
+        return line.toString();
+    }
+
+    private static void metric(StringBuilder header, String name, long nanos, String description) {
+        if (header.length() > 0) {
+            header.append(", ");
+        }
+        header.append(name).append(";dur=").append(millis(nanos));
+        if (description != null) {
+            header.append(";desc=\"").append(description).append('"');
+        }
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.2f", nanos / 1_000_000.0);
+    }
+
+    private static String plural(int count, String noun) {
+        if (count == 1) {
+            return "1 " + noun;
+        }
+        return count + " " + (noun.endsWith("y") ? noun.substring(0, noun.length() - 1) + "ies" : noun + "s");
+    }
+
+    private static final class RepositoryStats {
+        private int calls;
+        private int queries;
+        private long nanos;
+    }
+}
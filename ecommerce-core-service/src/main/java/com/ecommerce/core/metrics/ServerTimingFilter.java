@@ -0,0 +1,238 @@
+package com.ecommerce.core.metrics;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times each request by stage (see {@link RequestTiming}) and returns the
+ * breakdown as a {@code Server-Timing} header, which browser dev tools show
+ * under the request's Timing tab. With {@code server-timing.log} on, slow
+ * requests also get one {@code key=value} log line.
+ * <p>
+ * Headers must precede the body, so the body is held back until the chain
+ * returns. Only the first {@code server-timing.buffer-limit-bytes} are held:
+ * a larger body, or one pushed out with {@code flushBuffer()} (as Spring MVC
+ * does once a message converter is done), is released with the timings known
+ * at that point. When {@code server-timing.enabled} is off the filter only
+ * passes the request on.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@Slf4j
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    private static final String HEADER = "Server-Timing";
+
+    @Value("${server-timing.enabled:false}")
+    private boolean enabled;
+
+    @Value("${server-timing.log:false}")
+    private boolean logEnabled;
+
+    @Value("${server-timing.log-threshold-ms:0}")
+    private long logThresholdMs;
+
+    @Value("${server-timing.buffer-limit-bytes:65536}")
+    private int bufferLimitBytes;
+
+    @Value("${server-timing.max-repository-entries:10}")
+    private int maxRepositoryEntries;
+
+    @Value("${server-timing.allow-origin:}")
+    private String allowOrigin;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (!enabled) {
+            chain.doFilter(request, response);
+            return;
+        }
+        RequestTiming timing = RequestTiming.start(maxRepositoryEntries);
+        TimedResponse timedResponse = new TimedResponse(response, timing);
+        try {
+            chain.doFilter(request, timedResponse);
+        } finally {
+            RequestTiming.stop();
+            if (!request.isAsyncStarted()) {
+                timing.end();
+                timedResponse.release();
+                log(request, response.getStatus(), timing);
+            }
+        }
+    }
+
+    private void log(HttpServletRequest request, int status, RequestTiming timing) {
+        if (logEnabled && log.isInfoEnabled()
+                && timing.totalNanos() >= TimeUnit.MILLISECONDS.toNanos(logThresholdMs)) {
+            log.info("request_timing method={} uri={} status={} {}", request.getMethod(), request.getRequestURI(),
+                    status, timing.toLogFields());
+        }
+    }
+
+    /**
+     * Holds the body back, up to the buffer limit, so the timing header can
+     * still be set once the response is complete
+     */
+    private final class TimedResponse extends HttpServletResponseWrapper {
+
+        private final RequestTiming timing;
+        private final ByteArrayOutputStream buffer = new ByteArrayOutputStream(1024);
+        private boolean released;
+        private ServletOutputStream outputStream;
+        private PrintWriter writer;
+
+        TimedResponse(HttpServletResponse response, RequestTiming timing) {
+            super(response);
+            this.timing = timing;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() {
+            if (outputStream == null) {
+                outputStream = new BufferedStream();
+            }
+            return outputStream;
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            if (writer == null) {
+                writer = new PrintWriter(new OutputStreamWriter(getOutputStream(), getCharacterEncoding()));
+            }
+            return writer;
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            if (writer != null) {
+                writer.flush();
+            }
+            release();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            release();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            release();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            release();
+            super.sendRedirect(location);
+        }
+
+        @Override
+        public void resetBuffer() {
+            if (!released) {
+                buffer.reset();
+            }
+            super.resetBuffer();
+        }
+
+        @Override
+        public void reset() {
+            if (!released) {
+                buffer.reset();
+            }
+            super.reset();
+        }
+
+        /**
+         * Set the header and write out whatever was held back; everything
+         * after this goes straight to the client
+         */
+        void release() throws IOException {
+            if (released) {
+                return;
+            }
+            if (writer != null) {
+                writer.flush();
+            }
+            released = true;
+            if (!super.isCommitted()) {
+                setHeader(HEADER, timing.toHeader());
+                if (StringUtils.hasText(allowOrigin)) {
+                    setHeader("Timing-Allow-Origin", allowOrigin);
+                }
+            }
+            if (buffer.size() > 0) {
+                buffer.writeTo(super.getOutputStream());
+                buffer.reset();
+            }
+        }
+
+        private final class BufferedStream extends ServletOutputStream {
+
+            @Override
+            public void write(int b) throws IOException {
+                if (released) {
+                    TimedResponse.super.getOutputStream().write(b);
+                    return;
+                }
+                buffer.write(b);
+                releaseIfFull();
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                if (released) {
+                    TimedResponse.super.getOutputStream().write(b, off, len);
+                    return;
+                }
+                buffer.write(b, off, len);
+                releaseIfFull();
+            }
+
+            @Override
+            public void flush() throws IOException {
+                // Message converters flush after every body; only a flush mid-stream matters
+                if (released) {
+                    TimedResponse.super.getOutputStream().flush();
+                }
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setWriteListener(WriteListener listener) {
+                throw new UnsupportedOperationException("Non-blocking writes are not supported while timing");
+            }
+
+            private void releaseIfFull() throws IOException {
+                if (buffer.size() > bufferLimitBytes) {
+                    release();
+                }
+            }
+        }
+    }
+}
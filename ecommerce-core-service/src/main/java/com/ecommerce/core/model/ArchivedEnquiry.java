@@ -0,0 +1,82 @@
+package com.ecommerce.core.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Cold copy of an enquiry moved out of {@code enquiries} by the archival job.
+ * Keeps the original id, so it implements {@link Persistable} to insert
+ * without a merge SELECT.
+ */
+@Entity
+@Table(name = "enquiries_archive")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ArchivedEnquiry implements Persistable<Long> {
+    @Id
+    private Long id;
+
+    @Column(nullable = false, length = 100)
+    private String name;
+
+    @Column(nullable = false, length = 100)
+    private String email;
+
+    @Column(nullable = false, length = 20)
+    private String phone;
+
+    @Column(columnDefinition = "TEXT")
+    private String message;
+
+    @Column(name = "product_id")
+    private Long productId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Enquiry.EnquiryStatus status;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime archivedAt;
+
+    @Transient
+    @Builder.Default
+    private boolean newEntity = true;
+
+    public static ArchivedEnquiry fromEnquiry(Enquiry enquiry, LocalDateTime archivedAt) {
+        return ArchivedEnquiry.builder()
+                .id(enquiry.getId())
+                .name(enquiry.getName())
+                .email(enquiry.getEmail())
+                .phone(enquiry.getPhone())
+                .message(enquiry.getMessage())
+                .productId(enquiry.getProductId())
+                .status(enquiry.getStatus())
+                .createdAt(enquiry.getCreatedAt())
+                .updatedAt(enquiry.getUpdatedAt())
+                .archivedAt(archivedAt)
+                .build();
+    }
+
+    @Override
+    public boolean isNew() {
+        return newEntity;
+    }
+
+    @PostLoad
+    @PostPersist
+    protected void markNotNew() {
+        newEntity = false;
+    }
+}
@@ -6,7 +6,10 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "categories")
+@Table(name = "categories", indexes = {
+        @Index(name = "idx_category_parent", columnList = "parent_id"),
+        @Index(name = "idx_category_path", columnList = "path")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -26,6 +29,17 @@ public class Category {
     @Column(length = 500)
     private String image;
 
+    /** Parent category, {@code null} for a top-level department */
+    @Column(name = "parent_id")
+    private Long parentId;
+
+    /**
+     * Materialized path of ancestor ids ending with this id, e.g.
+     * {@code /3/17/42/}; a subtree is every row whose path starts with it
+     */
+    @Column(length = 255)
+    private String path;
+
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
@@ -47,6 +47,10 @@ public class Product {
     @Column(nullable = false)
     private Boolean active = true;
 
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
@@ -0,0 +1,27 @@
+package com.ecommerce.core.repository;
+
+import com.ecommerce.core.model.ArchivedEnquiry;
+import com.ecommerce.core.model.Enquiry;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ArchivedEnquiryRepository extends JpaRepository<ArchivedEnquiry, Long> {
+    List<ArchivedEnquiry> findAllByOrderByCreatedAtDescIdDesc(Pageable pageable);
+
+    List<ArchivedEnquiry> findByStatusOrderByCreatedAtDescIdDesc(Enquiry.EnquiryStatus status, Pageable pageable);
+
+    @Query("SELECT e FROM ArchivedEnquiry e WHERE e.createdAt < :createdAt OR (e.createdAt = :createdAt AND e.id < :id) ORDER BY e.createdAt DESC, e.id DESC")
+    List<ArchivedEnquiry> findAfterCursor(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id,
+            Pageable pageable);
+
+    @Query("SELECT e FROM ArchivedEnquiry e WHERE e.status = :status AND (e.createdAt < :createdAt OR (e.createdAt = :createdAt AND e.id < :id)) ORDER BY e.createdAt DESC, e.id DESC")
+    List<ArchivedEnquiry> findByStatusAfterCursor(@Param("status") Enquiry.EnquiryStatus status,
+            @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable pageable);
+}
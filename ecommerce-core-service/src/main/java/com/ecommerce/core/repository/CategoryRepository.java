@@ -1,14 +1,21 @@
 package com.ecommerce.core.repository;
 
 import com.ecommerce.core.model.Category;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface CategoryRepository extends JpaRepository<Category, Long> {
+public interface CategoryRepository extends JpaRepository<Category, Long>, CategoryRepositoryCustom {
     Optional<Category> findByIdAndActiveTrue(Long id);
 
     List<Category> findByActiveTrue();
@@ -16,4 +23,43 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
     Optional<Category> findByNameAndActiveTrue(String name);
 
     Optional<Category> findByNameIgnoreCase(String name);
+
+    /** Rows changed since a catalog snapshot watermark, including soft-deleted ones */
+    List<Category> findByUpdatedAtGreaterThanEqual(LocalDateTime since);
+
+    @Query("SELECT c.id FROM Category c")
+    List<Long> findAllIds();
+
+    boolean existsByParentId(Long parentId);
+
+    List<Category> findByPathStartingWith(String pathPrefix);
+
+    @Query("SELECT c.path FROM Category c WHERE c.id = :id")
+    Optional<String> findPathById(@Param("id") Long id);
+
+    /**
+     * SELECT ... FOR UPDATE in id order, so concurrent callers locking
+     * overlapping sets queue instead of deadlocking
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM Category c WHERE c.id IN :ids ORDER BY c.id")
+    List<Category> lockAllById(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Re-root a subtree: swap the path prefix of the moved category and all
+     * of its descendants in one statement
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Category c SET c.path = CONCAT(:newPrefix, SUBSTRING(c.path, LENGTH(:oldPrefix) + 1)), c.updatedAt = :now WHERE c.path LIKE CONCAT(:oldPrefix, '%')")
+    int movePaths(@Param("oldPrefix") String oldPrefix, @Param("newPrefix") String newPrefix,
+            @Param("now") LocalDateTime now);
+
+    /** Give pre-hierarchy rows (all top-level) their materialized path */
+    @Modifying
+    @Query("UPDATE Category c SET c.path = CONCAT('/', CAST(c.id AS String), '/'), c.updatedAt = :now WHERE c.path IS NULL AND c.parentId IS NULL")
+    int backfillRootPaths(@Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE Category c SET c.active = false, c.updatedAt = :now WHERE c.id = :id")
+    int softDelete(@Param("id") Long id, @Param("now") LocalDateTime now);
 }
@@ -0,0 +1,18 @@
+package com.ecommerce.core.repository;
+
+import jakarta.persistence.Tuple;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Column-restricted category reads for sparse fieldsets
+ */
+public interface CategoryRepositoryCustom {
+
+    /**
+     * Select only the given attributes (aliased by name). A null id selects
+     * all categories matching {@code activeOnly}.
+     */
+    List<Tuple> findProjection(Collection<String> attributes, Long id, boolean activeOnly);
+}
@@ -4,8 +4,14 @@ import com.ecommerce.core.model.Enquiry;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -15,4 +21,59 @@ public interface EnquiryRepository extends JpaRepository<Enquiry, Long> {
     Page<Enquiry> findByEmail(String email, Pageable pageable);
 
     Optional<Enquiry> findByIdAndEmail(Long id, String email);
+
+    // Keyset (createdAt, id) listings - no COUNT query, caller asks for size + 1 rows
+    List<Enquiry> findAllByOrderByCreatedAtDescIdDesc(Pageable pageable);
+
+    List<Enquiry> findByStatusOrderByCreatedAtDescIdDesc(Enquiry.EnquiryStatus status, Pageable pageable);
+
+    @Query("SELECT e FROM Enquiry e WHERE e.createdAt < :createdAt OR (e.createdAt = :createdAt AND e.id < :id) ORDER BY e.createdAt DESC, e.id DESC")
+    List<Enquiry> findAfterCursor(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id,
+            Pageable pageable);
+
+    @Query("SELECT e FROM Enquiry e WHERE e.status = :status AND (e.createdAt < :createdAt OR (e.createdAt = :createdAt AND e.id < :id)) ORDER BY e.createdAt DESC, e.id DESC")
+    List<Enquiry> findByStatusAfterCursor(@Param("status") Enquiry.EnquiryStatus status,
+            @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable pageable);
+
+    // Archival - oldest first so each chunk makes forward progress
+    @Query("SELECT e FROM Enquiry e WHERE e.status = :status AND e.updatedAt < :cutoff ORDER BY e.id")
+    List<Enquiry> findArchivable(@Param("status") Enquiry.EnquiryStatus status,
+            @Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM Enquiry e WHERE e.id IN :ids AND e.status = :status AND e.updatedAt < :cutoff")
+    int deleteArchived(@Param("ids") List<Long> ids, @Param("status") Enquiry.EnquiryStatus status,
+            @Param("cutoff") LocalDateTime cutoff);
+
+    // Compare-and-set on the current status, so concurrent transitions cannot be lost
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Enquiry e SET e.status = :to, e.updatedAt = :now WHERE e.id = :id AND e.status = :from")
+    int transitionStatus(@Param("id") Long id, @Param("from") Enquiry.EnquiryStatus from,
+            @Param("to") Enquiry.EnquiryStatus to, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM Enquiry e WHERE e.id = :id AND e.status = :status")
+    int deleteByIdAndStatus(@Param("id") Long id, @Param("status") Enquiry.EnquiryStatus status);
+
+    // Bulk operations: id-ordered keyset scan for filter targets, then set-based statements per chunk
+    @Query("SELECT e.id FROM Enquiry e WHERE e.id > :afterId AND (:status IS NULL OR e.status = :status) "
+            + "AND (:createdBefore IS NULL OR e.createdAt < :createdBefore) ORDER BY e.id")
+    List<Long> findIdsMatching(@Param("afterId") Long afterId, @Param("status") Enquiry.EnquiryStatus status,
+            @Param("createdBefore") LocalDateTime createdBefore, Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE Enquiry e SET e.status = :to, e.updatedAt = :now WHERE e.id IN :ids AND e.status = :from "
+            + "AND (:createdBefore IS NULL OR e.createdAt < :createdBefore)")
+    int bulkTransitionStatus(@Param("ids") Collection<Long> ids, @Param("from") Enquiry.EnquiryStatus from,
+            @Param("to") Enquiry.EnquiryStatus to, @Param("createdBefore") LocalDateTime createdBefore,
+            @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM Enquiry e WHERE e.id IN :ids AND e.status = :status "
+            + "AND (:createdBefore IS NULL OR e.createdAt < :createdBefore)")
+    int bulkDelete(@Param("ids") Collection<Long> ids, @Param("status") Enquiry.EnquiryStatus status,
+            @Param("createdBefore") LocalDateTime createdBefore);
+
+    @Query("SELECT e.status, COUNT(e) FROM Enquiry e GROUP BY e.status")
+    List<Object[]> countGroupedByStatus();
 }
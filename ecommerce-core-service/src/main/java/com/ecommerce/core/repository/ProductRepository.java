@@ -1,25 +1,53 @@
 package com.ecommerce.core.repository;
 
 import com.ecommerce.core.model.Product;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface ProductRepository extends JpaRepository<Product, Long> {
+public interface ProductRepository extends JpaRepository<Product, Long>, ProductRepositoryCustom {
     List<Product> findByCategoryIdAndActiveTrue(Long categoryId);
 
     Optional<Product> findByIdAndActiveTrue(Long id);
 
     List<Product> findByActiveTrue();
 
+    List<Product> findByActiveTrueOrderByIdDesc(Pageable pageable);
+
     @Query("SELECT p FROM Product p WHERE p.active = true AND (LOWER(p.name) LIKE LOWER(CONCAT('%', :search, '%')) OR LOWER(p.description) LIKE LOWER(CONCAT('%', :search, '%')))")
     List<Product> searchProducts(@Param("search") String search);
 
+    /** Active products in any of these categories, e.g. the visible part of a subtree */
+    @Query("SELECT p FROM Product p WHERE p.active = true AND p.categoryId IN :categoryIds")
+    List<Product> findActiveInCategories(@Param("categoryIds") Collection<Long> categoryIds);
+
     @Query("SELECT p FROM Product p WHERE p.active = true AND p.price >= :minPrice AND p.price <= :maxPrice")
     List<Product> findByPriceRange(@Param("minPrice") Double minPrice, @Param("maxPrice") Double maxPrice);
+
+    /** Rows changed since a catalog snapshot watermark, including soft-deleted ones */
+    List<Product> findByUpdatedAtGreaterThanEqual(LocalDateTime since);
+
+    @Query("SELECT p.categoryId, COUNT(p), COALESCE(SUM(p.stock), 0) FROM Product p WHERE p.active = true AND p.categoryId IS NOT NULL GROUP BY p.categoryId")
+    List<Object[]> countActiveGroupedByCategory();
+
+    /**
+     * Category, stock and version of one product, for per-category counter
+     * deltas; read after {@link #softDelete} so the row is already locked
+     */
+    @Query("SELECT p.categoryId, p.stock, p.version FROM Product p WHERE p.id = :id")
+    List<Object[]> findCountingState(@Param("id") Long id);
+
+    /** Deactivate an active product; 0 when it is missing or already inactive */
+    @Modifying
+    @Query("UPDATE Product p SET p.active = false, p.updatedAt = :now, p.version = p.version + 1 WHERE p.id = :id AND p.active = true")
+    int softDelete(@Param("id") Long id, @Param("now") LocalDateTime now);
 }
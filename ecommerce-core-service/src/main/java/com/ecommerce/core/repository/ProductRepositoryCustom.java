@@ -0,0 +1,39 @@
+package com.ecommerce.core.repository;
+
+import jakarta.persistence.Tuple;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Column-restricted product reads for sparse fieldsets, conditional
+ * single-statement updates and MySQL full-text search
+ */
+public interface ProductRepositoryCustom {
+
+    /**
+     * Select only the given attributes (aliased by name) of active products.
+     * Null filters are ignored.
+     */
+    List<Tuple> findActiveProjection(Collection<String> attributes, Long id, Long categoryId,
+            Double minPrice, Double maxPrice);
+
+    /**
+     * Set the given attributes in one UPDATE, bumping {@code version} and
+     * {@code updatedAt}. The row is only changed if its version still
+     * matches {@code expectedVersion}.
+     *
+     * @return number of rows updated (0 when missing or stale)
+     */
+    int updateIfVersionMatches(Long id, Long expectedVersion, Map<String, Object> assignments);
+
+    /**
+     * Active products matching a MySQL {@code MATCH(name, description)
+     * AGAINST} query on the {@code ft_search} index, most relevant first.
+     * MySQL only.
+     *
+     * @return rows of {@code [Product, Double relevance]}
+     */
+    List<Object[]> searchFullText(String query, boolean booleanMode, int limit);
+}
@@ -0,0 +1,97 @@
+package com.ecommerce.core.repository;
+
+import com.ecommerce.core.model.Product;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.type.StandardBasicTypes;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public class ProductRepositoryCustomImpl implements ProductRepositoryCustom {
+
+    private static final String FULL_TEXT_SEARCH = "SELECT {p.*}, MATCH(p.name, p.description) AGAINST (:query %1$s) AS score"
+            + " FROM products p"
+            + " WHERE p.active = TRUE AND MATCH(p.name, p.description) AGAINST (:query %1$s)"
+            + " ORDER BY score DESC, p.id DESC"
+            + " LIMIT :limit";
+    private static final String NATURAL_LANGUAGE_SEARCH = String.format(FULL_TEXT_SEARCH, "IN NATURAL LANGUAGE MODE");
+    private static final String BOOLEAN_SEARCH = String.format(FULL_TEXT_SEARCH, "IN BOOLEAN MODE");
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Tuple> findActiveProjection(Collection<String> attributes, Long id, Long categoryId,
+            Double minPrice, Double maxPrice) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Product> product = query.from(Product.class);
+
+        List<Selection<?>> selections = new ArrayList<>(attributes.size());
+        for (String attribute : attributes) {
+            selections.add(product.get(attribute).alias(attribute));
+        }
+        query.multiselect(selections);
+
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.isTrue(product.get("active")));
+        if (id != null) {
+            predicates.add(cb.equal(product.get("id"), id));
+        }
+        if (categoryId != null) {
+            predicates.add(cb.equal(product.get("categoryId"), categoryId));
+        }
+        if (minPrice != null) {
+            predicates.add(cb.greaterThanOrEqualTo(product.get("price"), minPrice));
+        }
+        if (maxPrice != null) {
+            predicates.add(cb.lessThanOrEqualTo(product.get("price"), maxPrice));
+        }
+        query.where(predicates.toArray(new Predicate[0]));
+
+        return entityManager.createQuery(query).getResultList();
+    }
+
+    @Override
+    public int updateIfVersionMatches(Long id, Long expectedVersion, Map<String, Object> assignments) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Product> update = cb.createCriteriaUpdate(Product.class);
+        Root<Product> product = update.from(Product.class);
+
+        assignments.forEach(update::set);
+        update.set("updatedAt", LocalDateTime.now());
+        update.set(product.<Long>get("version"), cb.sum(product.<Long>get("version"), 1L));
+
+        update.where(cb.equal(product.get("id"), id), cb.equal(product.get("version"), expectedVersion));
+
+        // Flush pending changes first and drop stale managed copies afterwards
+        entityManager.flush();
+        int updated = entityManager.createQuery(update).executeUpdate();
+        entityManager.clear();
+        return updated;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Object[]> searchFullText(String query, boolean booleanMode, int limit) {
+        return entityManager.createNativeQuery(booleanMode ? BOOLEAN_SEARCH : NATURAL_LANGUAGE_SEARCH)
+                .unwrap(NativeQuery.class)
+                .addEntity("p", Product.class)
+                .addScalar("score", StandardBasicTypes.DOUBLE)
+                .setParameter("query", query)
+                .setParameter("limit", limit)
+                .getResultList();
+    }
+}
@@ -0,0 +1,404 @@
+package com.ecommerce.core.service;
+
+import com.ecommerce.core.dto.CategoryDTO;
+import com.ecommerce.core.dto.ProductDTO;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * Compact binary catalog snapshot, read through a read-only memory mapping.
+ * <pre>
+ * header   magic, format version, schema stamp, source stamp, watermark,
+ *          written-at, category/product counts, section offsets, CRC32 of
+ *          everything after the header
+ * index    per entity type: (long id, int record offset) sorted by id
+ * records  fixed-width fields followed by length-prefixed UTF-8 strings
+ * </pre>
+ * Lookups binary-search the mapped index and decode a single record, so
+ * nothing is copied onto the heap at load time.
+ */
+public final class CatalogSnapshotFile {
+
+    private static final int MAGIC = 0x45435346; // "ECSF"
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_SIZE = 80;
+    private static final int INDEX_ENTRY_SIZE = Long.BYTES + Integer.BYTES;
+
+    /** Changes whenever the encoded field list changes, invalidating old files */
+    static final long SCHEMA_STAMP = crc("category:id,parentId,name,description,image,path,active,createdAt,updatedAt;"
+            + "product:id,name,description,price,categoryId,image,stock,rating,active,version,createdAt,updatedAt");
+
+    private final ByteBuffer buffer;
+    private final long sourceStamp;
+    private final LocalDateTime watermark;
+    private final LocalDateTime writtenAt;
+    private final int categoryCount;
+    private final int productCount;
+    private final int categoryIndexOffset;
+    private final int productIndexOffset;
+    private final long sizeBytes;
+
+    private CatalogSnapshotFile(ByteBuffer buffer, long sizeBytes) {
+        this.buffer = buffer;
+        this.sizeBytes = sizeBytes;
+        this.sourceStamp = buffer.getLong(16);
+        this.watermark = readTime(buffer, 24);
+        this.writtenAt = readTime(buffer, 36);
+        this.categoryCount = buffer.getInt(48);
+        this.productCount = buffer.getInt(52);
+        this.categoryIndexOffset = buffer.getInt(56);
+        this.productIndexOffset = buffer.getInt(60);
+    }
+
+    /**
+     * Map and validate a snapshot file
+     *
+     * @throws IOException if the file is unreadable, truncated, corrupt or
+     *                     was written for another format, schema or database
+     */
+    public static CatalogSnapshotFile open(Path path, long expectedSourceStamp) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_SIZE || size > Integer.MAX_VALUE) {
+                throw new IOException("Snapshot size " + size + " is out of range");
+            }
+            // The mapping stays valid after the channel is closed
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if (mapped.getInt(0) != MAGIC) {
+                throw new IOException("Not a catalog snapshot");
+            }
+            if (mapped.getInt(4) != FORMAT_VERSION || mapped.getLong(8) != SCHEMA_STAMP) {
+                throw new IOException("Snapshot format or schema stamp does not match");
+            }
+            if (mapped.getLong(16) != expectedSourceStamp) {
+                throw new IOException("Snapshot was written for a different database");
+            }
+            CRC32 crc = new CRC32();
+            crc.update(mapped.slice(HEADER_SIZE, (int) size - HEADER_SIZE));
+            if (mapped.getLong(64) != crc.getValue()) {
+                throw new IOException("Snapshot checksum mismatch");
+            }
+            return new CatalogSnapshotFile(mapped, size);
+        }
+    }
+
+    /**
+     * Write a snapshot to a temporary file and atomically move it into place
+     */
+    public static void write(Path path, long sourceStamp, LocalDateTime watermark,
+            Collection<CategoryDTO> categories, Collection<ProductDTO> products) throws IOException {
+        List<CategoryDTO> sortedCategories = new ArrayList<>(categories);
+        sortedCategories.sort(Comparator.comparing(CategoryDTO::getId));
+        List<ProductDTO> sortedProducts = new ArrayList<>(products);
+        sortedProducts.sort(Comparator.comparing(ProductDTO::getId));
+
+        // Records first, so the index can point at their offsets
+        int categoryIndexOffset = HEADER_SIZE;
+        int productIndexOffset = categoryIndexOffset + sortedCategories.size() * INDEX_ENTRY_SIZE;
+        int recordsOffset = productIndexOffset + sortedProducts.size() * INDEX_ENTRY_SIZE;
+
+        ByteArrayOutputStream records = new ByteArrayOutputStream(64 * (sortedProducts.size() + 16));
+        DataOutputStream out = new DataOutputStream(records);
+        int[] categoryOffsets = new int[sortedCategories.size()];
+        for (int i = 0; i < sortedCategories.size(); i++) {
+            categoryOffsets[i] = recordsOffset + out.size();
+            writeCategory(out, sortedCategories.get(i));
+        }
+        int[] productOffsets = new int[sortedProducts.size()];
+        for (int i = 0; i < sortedProducts.size(); i++) {
+            productOffsets[i] = recordsOffset + out.size();
+            writeProduct(out, sortedProducts.get(i));
+        }
+        out.flush();
+
+        ByteArrayOutputStream body = new ByteArrayOutputStream(recordsOffset - HEADER_SIZE + records.size());
+        DataOutputStream index = new DataOutputStream(body);
+        for (int i = 0; i < sortedCategories.size(); i++) {
+            index.writeLong(sortedCategories.get(i).getId());
+            index.writeInt(categoryOffsets[i]);
+        }
+        for (int i = 0; i < sortedProducts.size(); i++) {
+            index.writeLong(sortedProducts.get(i).getId());
+            index.writeInt(productOffsets[i]);
+        }
+        records.writeTo(index);
+        index.flush();
+        byte[] bodyBytes = body.toByteArray();
+        if ((long) HEADER_SIZE + bodyBytes.length > Integer.MAX_VALUE) {
+            throw new IOException("Catalog too large for a single snapshot file");
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(bodyBytes);
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC)
+                .putInt(FORMAT_VERSION)
+                .putLong(SCHEMA_STAMP)
+                .putLong(sourceStamp);
+        putTime(header, watermark);
+        putTime(header, LocalDateTime.now());
+        header.putInt(sortedCategories.size())
+                .putInt(sortedProducts.size())
+                .putInt(categoryIndexOffset)
+                .putInt(productIndexOffset)
+                .putLong(crc.getValue());
+
+        Path parent = path.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temp = Files.createTempFile(parent, path.getFileName().toString(), ".tmp");
+        try {
+            try (OutputStream file = new BufferedOutputStream(Files.newOutputStream(temp))) {
+                file.write(header.array());
+                file.write(bodyBytes);
+            }
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    public ProductDTO product(long id) {
+        int offset = find(productIndexOffset, productCount, id);
+        return offset < 0 ? null : readProduct(offset);
+    }
+
+    public CategoryDTO category(long id) {
+        int offset = find(categoryIndexOffset, categoryCount, id);
+        return offset < 0 ? null : readCategory(offset);
+    }
+
+    public void forEachProduct(Consumer<ProductDTO> action) {
+        for (int i = 0; i < productCount; i++) {
+            action.accept(readProduct(buffer.getInt(productIndexOffset + i * INDEX_ENTRY_SIZE + Long.BYTES)));
+        }
+    }
+
+    public void forEachCategory(Consumer<CategoryDTO> action) {
+        for (int i = 0; i < categoryCount; i++) {
+            action.accept(readCategory(buffer.getInt(categoryIndexOffset + i * INDEX_ENTRY_SIZE + Long.BYTES)));
+        }
+    }
+
+    /** Category ids straight from the index, without decoding records */
+    public long[] categoryIds() {
+        long[] ids = new long[categoryCount];
+        for (int i = 0; i < categoryCount; i++) {
+            ids[i] = buffer.getLong(categoryIndexOffset + i * INDEX_ENTRY_SIZE);
+        }
+        return ids;
+    }
+
+    public LocalDateTime getWatermark() {
+        return watermark;
+    }
+
+    public LocalDateTime getWrittenAt() {
+        return writtenAt;
+    }
+
+    public int getCategoryCount() {
+        return categoryCount;
+    }
+
+    public int getProductCount() {
+        return productCount;
+    }
+
+    public long getSizeBytes() {
+        return sizeBytes;
+    }
+
+    public long getSourceStamp() {
+        return sourceStamp;
+    }
+
+    static long crc(String value) {
+        CRC32 crc = new CRC32();
+        crc.update(value.getBytes(StandardCharsets.UTF_8));
+        return crc.getValue();
+    }
+
+    private int find(int indexOffset, int count, long id) {
+        int low = 0;
+        int high = count - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int entry = indexOffset + mid * INDEX_ENTRY_SIZE;
+            long midId = buffer.getLong(entry);
+            if (midId < id) {
+                low = mid + 1;
+            } else if (midId > id) {
+                high = mid - 1;
+            } else {
+                return buffer.getInt(entry + Long.BYTES);
+            }
+        }
+        return -1;
+    }
+
+    private static void writeCategory(DataOutputStream out, CategoryDTO category) throws IOException {
+        out.writeLong(category.getId());
+        out.writeLong(category.getParentId() != null ? category.getParentId() : -1L);
+        out.writeBoolean(Boolean.TRUE.equals(category.getActive()));
+        writeTime(out, category.getCreatedAt());
+        writeTime(out, category.getUpdatedAt());
+        writeString(out, category.getName());
+        writeString(out, category.getDescription());
+        writeString(out, category.getImage());
+        writeString(out, category.getPath());
+    }
+
+    private CategoryDTO readCategory(int offset) {
+        Cursor in = new Cursor(offset);
+        long id = in.getLong();
+        long parentId = in.getLong();
+        return CategoryDTO.builder()
+                .id(id)
+                .parentId(parentId >= 0 ? parentId : null)
+                .active(in.getBoolean())
+                .createdAt(in.getTime())
+                .updatedAt(in.getTime())
+                .name(in.getString())
+                .description(in.getString())
+                .image(in.getString())
+                .path(in.getString())
+                .build();
+    }
+
+    private static void writeProduct(DataOutputStream out, ProductDTO product) throws IOException {
+        out.writeLong(product.getId());
+        out.writeLong(product.getCategoryId() != null ? product.getCategoryId() : -1L);
+        out.writeDouble(product.getPrice() != null ? product.getPrice() : Double.NaN);
+        out.writeDouble(product.getRating() != null ? product.getRating() : Double.NaN);
+        out.writeInt(product.getStock() != null ? product.getStock() : Integer.MIN_VALUE);
+        out.writeLong(product.getVersion() != null ? product.getVersion() : -1L);
+        out.writeBoolean(Boolean.TRUE.equals(product.getActive()));
+        writeTime(out, product.getCreatedAt());
+        writeTime(out, product.getUpdatedAt());
+        writeString(out, product.getName());
+        writeString(out, product.getDescription());
+        writeString(out, product.getImage());
+    }
+
+    private ProductDTO readProduct(int offset) {
+        Cursor in = new Cursor(offset);
+        long id = in.getLong();
+        long categoryId = in.getLong();
+        double price = in.getDouble();
+        double rating = in.getDouble();
+        int stock = in.getInt();
+        long version = in.getLong();
+        return ProductDTO.builder()
+                .id(id)
+                .categoryId(categoryId >= 0 ? categoryId : null)
+                .price(Double.isNaN(price) ? null : price)
+                .rating(Double.isNaN(rating) ? null : rating)
+                .stock(stock != Integer.MIN_VALUE ? stock : null)
+                .version(version >= 0 ? version : null)
+                .active(in.getBoolean())
+                .createdAt(in.getTime())
+                .updatedAt(in.getTime())
+                .name(in.getString())
+                .description(in.getString())
+                .image(in.getString())
+                .build();
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    // Timestamps as epoch seconds + nanos on a fixed offset: exact round trip of LocalDateTime
+    private static void writeTime(DataOutputStream out, LocalDateTime value) throws IOException {
+        out.writeLong(value != null ? value.toEpochSecond(ZoneOffset.UTC) : Long.MIN_VALUE);
+        out.writeInt(value != null ? value.getNano() : 0);
+    }
+
+    private static void putTime(ByteBuffer out, LocalDateTime value) {
+        out.putLong(value != null ? value.toEpochSecond(ZoneOffset.UTC) : Long.MIN_VALUE);
+        out.putInt(value != null ? value.getNano() : 0);
+    }
+
+    private static LocalDateTime readTime(ByteBuffer in, int offset) {
+        long seconds = in.getLong(offset);
+        return seconds == Long.MIN_VALUE ? null
+                : LocalDateTime.ofEpochSecond(seconds, in.getInt(offset + Long.BYTES), ZoneOffset.UTC);
+    }
+
+    /**
+     * Sequential reader over the shared buffer using absolute gets only, so
+     * concurrent lookups never touch the buffer's position
+     */
+    private final class Cursor {
+        private int position;
+
+        Cursor(int position) {
+            this.position = position;
+        }
+
+        long getLong() {
+            long value = buffer.getLong(position);
+            position += Long.BYTES;
+            return value;
+        }
+
+        int getInt() {
+            int value = buffer.getInt(position);
+            position += Integer.BYTES;
+            return value;
+        }
+
+        double getDouble() {
+            double value = buffer.getDouble(position);
+            position += Double.BYTES;
+            return value;
+        }
+
+        boolean getBoolean() {
+            return buffer.get(position++) != 0;
+        }
+
+        LocalDateTime getTime() {
+            LocalDateTime value = readTime(buffer, position);
+            position += Long.BYTES + Integer.BYTES;
+            return value;
+        }
+
+        String getString() {
+            int length = getInt();
+            if (length < 0) {
+                return null;
+            }
+            byte[] bytes = new byte[length];
+            buffer.get(position, bytes);
+            position += length;
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+}
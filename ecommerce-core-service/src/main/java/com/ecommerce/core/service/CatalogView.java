@@ -0,0 +1,477 @@
+package com.ecommerce.core.service;
+
+import com.ecommerce.core.dto.CategoryDTO;
+import com.ecommerce.core.dto.ProductDTO;
+import com.ecommerce.core.model.Category;
+import com.ecommerce.core.model.Product;
+import com.ecommerce.core.repository.CategoryRepository;
+import com.ecommerce.core.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Read-only catalog view for single product and category lookups, backed by
+ * a memory-mapped {@link CatalogSnapshotFile}. At startup the last snapshot
+ * is mapped (no DB read) and brought current with an {@code updatedAt >=
+ * watermark} query; without a usable snapshot the catalog is loaded from the
+ * database once and written out. Rows changed since the snapshot live in a
+ * small on-heap overlay, fed by this instance's own writes after commit and
+ * by a periodic catch-up query for everyone else's. The overlay is folded
+ * into a fresh snapshot file every {@code catalog.snapshot.write-interval-ms}.
+ * <p>
+ * Lookups are lock-free and return {@code null} on a miss, so callers fall
+ * back to the database.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CatalogView {
+
+    private final ProductRepository productRepository;
+    private final CategoryRepository categoryRepository;
+    private final NegativeLookupCache negativeCache;
+
+    @Value("${catalog.snapshot.enabled:true}")
+    private boolean enabled;
+
+    @Value("${catalog.snapshot.path:data/catalog-snapshot.bin}")
+    private Path path;
+
+    @Value("${catalog.snapshot.serve-reads:true}")
+    private boolean serveReads;
+
+    /** Catch-up re-reads this far behind the watermark, covering late commits and clock skew */
+    @Value("${catalog.snapshot.catch-up-overlap-ms:5000}")
+    private long catchUpOverlapMs;
+
+    @Value("${spring.datasource.url:}")
+    private String datasourceUrl;
+
+    /** Snapshot plus overlay, swapped as a whole when a new snapshot is written */
+    private volatile State state;
+    private volatile LocalDateTime watermark;
+    private volatile String loadedFrom;
+    private volatile long loadDurationMs;
+    private volatile LocalDateTime lastRefresh;
+    private volatile LocalDateTime lastWrite;
+
+    private final Object writeLock = new Object();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder caughtUp = new LongAdder();
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void load() {
+        if (!enabled) {
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            CatalogSnapshotFile file = openExisting();
+            if (file != null) {
+                watermark = file.getWatermark();
+                state = new State(file, new ConcurrentHashMap<>(), new ConcurrentHashMap<>());
+                loadedFrom = "snapshot";
+                refresh();
+            } else {
+                loadFromDatabase();
+                loadedFrom = "database";
+            }
+            loadDurationMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            log.info("Catalog view loaded from {} in {} ms ({} categories, {} products, {} changed since snapshot)",
+                    loadedFrom, loadDurationMs, state.file().getCategoryCount(), state.file().getProductCount(),
+                    overlaySize());
+        } catch (IOException | DataAccessException e) {
+            // Lookups fall back to the database until a later write succeeds
+            state = null;
+            log.warn("Catalog view unavailable, serving reads from the database: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Active product by id, or {@code null} when unknown here
+     */
+    public ProductDTO findProduct(long id) {
+        State current = readable();
+        if (current == null) {
+            return null;
+        }
+        ProductDTO product = current.products().get(id);
+        if (product == null) {
+            product = current.file().product(id);
+        }
+        return count(product != null && Boolean.TRUE.equals(product.getActive()) ? product : null);
+    }
+
+    /**
+     * Active category by id, or {@code null} when unknown here
+     */
+    public CategoryDTO findCategory(long id) {
+        State current = readable();
+        if (current == null) {
+            return null;
+        }
+        CategoryDTO category = current.categories().get(id);
+        if (category == null) {
+            category = current.file().category(id);
+        }
+        return count(category != null && Boolean.TRUE.equals(category.getActive()) ? category : null);
+    }
+
+    /**
+     * The product exactly as it was at {@code version}, active or not, or
+     * {@code null} when this view holds a different version. Lets a
+     * version-checked write know the row it replaced without reading it.
+     */
+    public ProductDTO findProductAtVersion(long id, long version) {
+        State current = state;
+        if (current == null) {
+            return null;
+        }
+        ProductDTO product = current.products().get(id);
+        if (product == null) {
+            product = current.file().product(id);
+        }
+        return product != null && product.getVersion() != null && product.getVersion() == version ? product : null;
+    }
+
+    /**
+     * Record a committed product write; runs after the current transaction commits
+     */
+    public void putProductAfterCommit(ProductDTO product) {
+        afterCommit(() -> applyProduct(product));
+    }
+
+    /**
+     * Record a product soft delete made at {@code deletedAt}, which left the row at {@code version}
+     */
+    public void removeProductAfterCommit(Long id, Long version, LocalDateTime deletedAt) {
+        putProductAfterCommit(ProductDTO.builder().id(id).active(false).version(version).updatedAt(deletedAt).build());
+    }
+
+    public void putCategoryAfterCommit(CategoryDTO category) {
+        afterCommit(() -> applyCategory(category));
+    }
+
+    /**
+     * Record a category soft or hard delete made at {@code deletedAt}
+     */
+    public void removeCategoryAfterCommit(Long id, LocalDateTime deletedAt) {
+        putCategoryAfterCommit(CategoryDTO.builder().id(id).active(false).updatedAt(deletedAt).build());
+    }
+
+    /**
+     * Pull rows other instances (or direct SQL) changed since the watermark
+     */
+    @Scheduled(fixedDelayString = "${catalog.snapshot.refresh-interval-ms:5000}", initialDelayString = "${catalog.snapshot.refresh-interval-ms:5000}")
+    public void refresh() {
+        if (state == null) {
+            return;
+        }
+        LocalDateTime since = watermark != null
+                ? watermark.minus(Duration.ofMillis(catchUpOverlapMs))
+                : LocalDateTime.of(1970, 1, 1, 0, 0);
+        LocalDateTime newest = watermark;
+
+        List<Category> categories = categoryRepository.findByUpdatedAtGreaterThanEqual(since);
+        List<Product> products = productRepository.findByUpdatedAtGreaterThanEqual(since);
+        for (Category category : categories) {
+            applyCategory(CategoryDTO.fromEntity(category));
+            newest = later(newest, category.getUpdatedAt());
+            if (Boolean.TRUE.equals(category.getActive())) {
+                // Created or reactivated, possibly on another instance
+                negativeCache.forgetCategory(category.getId());
+            }
+        }
+        for (Product product : products) {
+            applyProduct(ProductDTO.fromEntity(product));
+            newest = later(newest, product.getUpdatedAt());
+            if (Boolean.TRUE.equals(product.getActive())) {
+                negativeCache.forgetProduct(product.getId());
+            }
+        }
+        removeHardDeletedCategories();
+
+        watermark = newest;
+        lastRefresh = LocalDateTime.now();
+        caughtUp.add(categories.size() + products.size());
+        if (!categories.isEmpty() || !products.isEmpty()) {
+            log.debug("Catalog catch-up applied {} categories and {} products since {}", categories.size(),
+                    products.size(), since);
+        }
+    }
+
+    /**
+     * Fold the overlay into a new snapshot file and map it
+     */
+    @Scheduled(fixedDelayString = "${catalog.snapshot.write-interval-ms:600000}", initialDelayString = "${catalog.snapshot.write-interval-ms:600000}")
+    public void writeSnapshot() {
+        State current = state;
+        if (current == null || (current.products().isEmpty() && current.categories().isEmpty())) {
+            return;
+        }
+        Map<Long, ProductDTO> capturedProducts;
+        Map<Long, CategoryDTO> capturedCategories;
+        LocalDateTime capturedWatermark;
+        synchronized (writeLock) {
+            capturedProducts = new HashMap<>(current.products());
+            capturedCategories = new HashMap<>(current.categories());
+            capturedWatermark = watermark;
+        }
+
+        Map<Long, ProductDTO> products = new HashMap<>();
+        current.file().forEachProduct(product -> products.put(product.getId(), product));
+        products.putAll(capturedProducts);
+        Map<Long, CategoryDTO> categories = new HashMap<>();
+        current.file().forEachCategory(category -> categories.put(category.getId(), category));
+        categories.putAll(capturedCategories);
+        // Hard-deleted categories leave only an id and a timestamp behind
+        categories.values().removeIf(category -> category.getName() == null);
+        products.values().removeIf(product -> product.getName() == null);
+
+        try {
+            CatalogSnapshotFile file = write(capturedWatermark, categories, products);
+            synchronized (writeLock) {
+                // Keep only overlay entries written after the capture
+                Map<Long, ProductDTO> newerProducts = new ConcurrentHashMap<>();
+                state.products().forEach((id, product) -> {
+                    if (capturedProducts.get(id) != product) {
+                        newerProducts.put(id, product);
+                    }
+                });
+                Map<Long, CategoryDTO> newerCategories = new ConcurrentHashMap<>();
+                state.categories().forEach((id, category) -> {
+                    if (capturedCategories.get(id) != category) {
+                        newerCategories.put(id, category);
+                    }
+                });
+                state = new State(file, newerProducts, newerCategories);
+            }
+            log.info("Wrote catalog snapshot with {} categories and {} products ({} bytes)",
+                    file.getCategoryCount(), file.getProductCount(), file.getSizeBytes());
+        } catch (IOException e) {
+            log.warn("Could not write catalog snapshot to {}: {}", path, e.getMessage());
+        }
+    }
+
+    public Map<String, Object> toMap() {
+        State current = state;
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("enabled", enabled);
+        map.put("serveReads", serveReads);
+        map.put("ready", current != null);
+        map.put("path", path.toAbsolutePath().toString());
+        map.put("loadedFrom", loadedFrom);
+        map.put("loadDurationMs", loadDurationMs);
+        if (current != null) {
+            map.put("snapshotCategories", current.file().getCategoryCount());
+            map.put("snapshotProducts", current.file().getProductCount());
+            map.put("snapshotBytes", current.file().getSizeBytes());
+            map.put("snapshotWrittenAt", current.file().getWrittenAt());
+            map.put("overlayCategories", current.categories().size());
+            map.put("overlayProducts", current.products().size());
+        }
+        map.put("watermark", watermark);
+        map.put("lastRefresh", lastRefresh);
+        map.put("lastWrite", lastWrite);
+        map.put("rowsCaughtUp", caughtUp.sum());
+        map.put("hits", hits.sum());
+        map.put("misses", misses.sum());
+        return map;
+    }
+
+    private State readable() {
+        return serveReads ? state : null;
+    }
+
+    private <T> T count(T found) {
+        (found != null ? hits : misses).increment();
+        return found;
+    }
+
+    private CatalogSnapshotFile openExisting() {
+        if (isInMemoryDatabase()) {
+            // The data does not outlive the process, so neither may the snapshot
+            return null;
+        }
+        if (!Files.exists(path)) {
+            log.info("No catalog snapshot at {}, loading from the database", path);
+            return null;
+        }
+        try {
+            CatalogSnapshotFile file = CatalogSnapshotFile.open(path, sourceStamp());
+            log.info("Mapped catalog snapshot {} ({} bytes, watermark {})", path, file.getSizeBytes(),
+                    file.getWatermark());
+            return file;
+        } catch (IOException e) {
+            log.warn("Ignoring catalog snapshot {}: {}", path, e.getMessage());
+            return null;
+        }
+    }
+
+    private void loadFromDatabase() throws IOException {
+        LocalDateTime newest = null;
+        Map<Long, CategoryDTO> categories = new HashMap<>();
+        for (Category category : categoryRepository.findAll()) {
+            categories.put(category.getId(), CategoryDTO.fromEntity(category));
+            newest = later(newest, category.getUpdatedAt());
+        }
+        Map<Long, ProductDTO> products = new HashMap<>();
+        for (Product product : productRepository.findAll()) {
+            products.put(product.getId(), ProductDTO.fromEntity(product));
+            newest = later(newest, product.getUpdatedAt());
+        }
+        CatalogSnapshotFile file = write(newest, categories, products);
+        watermark = newest;
+        state = new State(file, new ConcurrentHashMap<>(), new ConcurrentHashMap<>());
+    }
+
+    private CatalogSnapshotFile write(LocalDateTime snapshotWatermark, Map<Long, CategoryDTO> categories,
+            Map<Long, ProductDTO> products) throws IOException {
+        CatalogSnapshotFile.write(path, sourceStamp(), snapshotWatermark, categories.values(), products.values());
+        lastWrite = LocalDateTime.now();
+        return CatalogSnapshotFile.open(path, sourceStamp());
+    }
+
+    private void applyProduct(ProductDTO product) {
+        synchronized (writeLock) {
+            State current = state;
+            if (current == null) {
+                return;
+            }
+            ProductDTO existing = current.products().get(product.getId());
+            if (existing == null) {
+                existing = current.file().product(product.getId());
+            }
+            // Catch-up re-reads the overlap window; unchanged rows must not grow the overlay
+            if (existing == null || isNewer(product, existing)) {
+                current.products().put(product.getId(), product);
+            }
+        }
+    }
+
+    private void applyCategory(CategoryDTO category) {
+        synchronized (writeLock) {
+            State current = state;
+            if (current == null) {
+                return;
+            }
+            CategoryDTO existing = current.categories().get(category.getId());
+            if (existing == null) {
+                existing = current.file().category(category.getId());
+            }
+            // updated_at has whole-second precision, so a same-second edit must still replace the entry
+            if (existing == null || (!isBefore(category.getUpdatedAt(), existing.getUpdatedAt())
+                    && !sameContent(category, existing))) {
+                current.categories().put(category.getId(), category);
+            }
+        }
+    }
+
+    private void removeHardDeletedCategories() {
+        State current = state;
+        Set<Long> known = new HashSet<>();
+        for (long id : current.file().categoryIds()) {
+            known.add(id);
+        }
+        known.addAll(current.categories().keySet());
+        known.removeAll(categoryRepository.findAllIds());
+        LocalDateTime now = LocalDateTime.now();
+        for (Long id : known) {
+            CategoryDTO category = current.categories().get(id);
+            if (category == null || category.getName() != null) {
+                applyCategory(CategoryDTO.builder().id(id).active(false).updatedAt(now).build());
+            }
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!enabled) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private int overlaySize() {
+        State current = state;
+        return current == null ? 0 : current.products().size() + current.categories().size();
+    }
+
+    private boolean isInMemoryDatabase() {
+        return datasourceUrl.startsWith("jdbc:h2:mem:");
+    }
+
+    private long sourceStamp() {
+        return CatalogSnapshotFile.crc(datasourceUrl);
+    }
+
+    /**
+     * Products are ordered by their optimistic lock version, which every
+     * write bumps; {@code updated_at} only has whole seconds. Without a
+     * version on both sides the later or same-second write wins.
+     */
+    private static boolean isNewer(ProductDTO product, ProductDTO existing) {
+        if (product.getVersion() == null || existing.getVersion() == null) {
+            return !isBefore(product.getUpdatedAt(), existing.getUpdatedAt());
+        }
+        return product.getVersion() > existing.getVersion();
+    }
+
+    private static boolean isBefore(LocalDateTime a, LocalDateTime b) {
+        return a != null && b != null && a.isBefore(b);
+    }
+
+    private static boolean sameContent(CategoryDTO a, CategoryDTO b) {
+        return Objects.equals(a.getName(), b.getName())
+                && Objects.equals(a.getDescription(), b.getDescription())
+                && Objects.equals(a.getImage(), b.getImage())
+                && Objects.equals(a.getParentId(), b.getParentId())
+                && Objects.equals(a.getPath(), b.getPath())
+                && Objects.equals(a.getActive(), b.getActive())
+                && Objects.equals(a.getUpdatedAt(), b.getUpdatedAt());
+    }
+
+    private static LocalDateTime later(LocalDateTime a, LocalDateTime b) {
+        return a == null || (b != null && b.isAfter(a)) ? b : a;
+    }
+
+    private record State(CatalogSnapshotFile file, Map<Long, ProductDTO> products,
+            Map<Long, CategoryDTO> categories) {
+    }
+}
@@ -0,0 +1,147 @@
+package com.ecommerce.core.service;
+
+import com.ecommerce.core.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-category active-product counts and stock totals kept in memory, so
+ * category listings never load products to count them. Product writes
+ * adjust the counters after their transaction commits; a periodic GROUP BY
+ * reconcile corrects drift from other instances or direct SQL. A write that
+ * cannot tell what it replaced marks the counters stale instead, and they
+ * are reconciled on the next short tick.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CategoryProductCounters {
+
+    private final ProductRepository productRepository;
+
+    private final Map<Long, Counts> counters = new ConcurrentHashMap<>();
+    private final AtomicBoolean stale = new AtomicBoolean();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        try {
+            reconcile();
+        } catch (DataAccessException e) {
+            // Counters start at zero and are corrected by the next scheduled reconcile
+            log.warn("Could not load category product counters at startup: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${category.counters.reconcile-interval-ms:300000}", initialDelayString = "${category.counters.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        Map<Long, long[]> actual = new HashMap<>();
+        for (Object[] row : productRepository.countActiveGroupedByCategory()) {
+            actual.put((Long) row[0], new long[] { ((Number) row[1]).longValue(), ((Number) row[2]).longValue() });
+        }
+        for (Map.Entry<Long, long[]> entry : actual.entrySet()) {
+            Counts counts = counters.computeIfAbsent(entry.getKey(), id -> new Counts());
+            long previous = counts.products.getAndSet(entry.getValue()[0]);
+            counts.stock.set(entry.getValue()[1]);
+            if (previous != entry.getValue()[0]) {
+                log.debug("Reconciled product count of category {} from {} to {}", entry.getKey(), previous,
+                        entry.getValue()[0]);
+            }
+        }
+        counters.forEach((categoryId, counts) -> {
+            if (!actual.containsKey(categoryId)) {
+                counts.products.set(0);
+                counts.stock.set(0);
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${category.counters.stale-check-interval-ms:1000}", initialDelayString = "${category.counters.stale-check-interval-ms:1000}")
+    public void reconcileIfStale() {
+        if (stale.compareAndSet(true, false)) {
+            reconcile();
+        }
+    }
+
+    public long productCount(Long categoryId) {
+        Counts counts = categoryId != null ? counters.get(categoryId) : null;
+        return counts != null ? counts.products.get() : 0;
+    }
+
+    public long totalStock(Long categoryId) {
+        Counts counts = categoryId != null ? counters.get(categoryId) : null;
+        return counts != null ? counts.stock.get() : 0;
+    }
+
+    public void recordAdded(Long categoryId, Integer stock) {
+        afterCommit(() -> adjust(categoryId, 1, stock));
+    }
+
+    public void recordRemoved(Long categoryId, Integer stock) {
+        afterCommit(() -> adjust(categoryId, -1, stock != null ? -stock : null));
+    }
+
+    /**
+     * Record a product update; {@code wasActive}/{@code isActive} decide
+     * whether the old and new rows count at all
+     */
+    public void recordChanged(Long oldCategoryId, Integer oldStock, boolean wasActive,
+            Long newCategoryId, Integer newStock, boolean isActive) {
+        afterCommit(() -> {
+            if (wasActive) {
+                adjust(oldCategoryId, -1, oldStock != null ? -oldStock : null);
+            }
+            if (isActive) {
+                adjust(newCategoryId, 1, newStock);
+            }
+        });
+    }
+
+    /**
+     * Record a product update whose previous category and stock are unknown
+     */
+    public void markStale() {
+        afterCommit(() -> stale.set(true));
+    }
+
+    private void adjust(Long categoryId, long products, Integer stock) {
+        if (categoryId == null) {
+            return;
+        }
+        Counts counts = counters.computeIfAbsent(categoryId, id -> new Counts());
+        counts.products.addAndGet(products);
+        if (stock != null) {
+            counts.stock.addAndGet(stock);
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static final class Counts {
+        private final AtomicLong products = new AtomicLong();
+        private final AtomicLong stock = new AtomicLong();
+    }
+}
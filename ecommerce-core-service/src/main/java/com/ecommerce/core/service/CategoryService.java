@@ -1,6 +1,9 @@
 package com.ecommerce.core.service;
 
 import com.ecommerce.core.dto.CategoryDTO;
+import com.ecommerce.core.dto.CategoryField;
+import com.ecommerce.core.dto.CategoryTreeDTO;
+import com.ecommerce.core.exception.ConflictException;
 import com.ecommerce.core.exception.ResourceNotFoundException;
 import com.ecommerce.core.exception.ValidationException;
 import com.ecommerce.core.model.Category;
@@ -11,9 +14,14 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
 import java.util.stream.Collectors;
 
 @Service
@@ -22,19 +30,36 @@ import java.util.stream.Collectors;
 public class CategoryService {
 
     private final CategoryRepository categoryRepository;
+    private final SingleFlight singleFlight;
+    private final CatalogView catalogView;
+    private final CategoryProductCounters productCounters;
+    private final CategoryTree categoryTree;
+    private final NegativeLookupCache negativeCache;
 
     /**
      * Get all active categories
      */
     public List<CategoryDTO> getAllCategories() {
+        return getAllCategories(null);
+    }
+
+    /**
+     * Get all active categories; a {@code fields} selection reads only those columns
+     */
+    @Coalesced
+    public List<CategoryDTO> getAllCategories(String fields) {
         log.debug("Fetching all active categories");
+        Set<CategoryField> selected = CategoryField.parse(fields);
+        if (!selected.isEmpty()) {
+            return findProjected(selected, null, true);
+        }
         List<Category> categories = categoryRepository.findByActiveTrue();
         if (categories == null || categories.isEmpty()) {
             log.info("No active categories found");
             return Collections.emptyList();
         }
         return categories.stream()
-                .map(CategoryDTO::fromEntity)
+                .map(category -> withCounts(CategoryDTO.fromEntity(category)))
                 .collect(Collectors.toList());
     }
 
@@ -42,14 +67,26 @@ public class CategoryService {
      * Get all categories including inactive (admin)
      */
     public List<CategoryDTO> getAllCategoriesAdmin() {
+        return getAllCategoriesAdmin(null);
+    }
+
+    /**
+     * Get all categories including inactive (admin), optionally column-restricted
+     */
+    @Coalesced
+    public List<CategoryDTO> getAllCategoriesAdmin(String fields) {
         log.debug("Fetching all categories (admin)");
+        Set<CategoryField> selected = CategoryField.parse(fields);
+        if (!selected.isEmpty()) {
+            return findProjected(selected, null, false);
+        }
         List<Category> categories = categoryRepository.findAll();
         if (categories == null || categories.isEmpty()) {
             log.info("No categories found");
             return Collections.emptyList();
         }
         return categories.stream()
-                .map(CategoryDTO::fromEntity)
+                .map(category -> withCounts(CategoryDTO.fromEntity(category)))
                 .collect(Collectors.toList());
     }
 
@@ -57,18 +94,47 @@ public class CategoryService {
      * Get category by ID
      */
     public CategoryDTO getCategoryById(Long id) {
+        return getCategoryById(id, null);
+    }
+
+    /**
+     * Get category by ID, optionally column-restricted; served from the
+     * catalog snapshot when it has the category
+     */
+    @Coalesced
+    public CategoryDTO getCategoryById(Long id, String fields) {
         if (id == null || id <= 0) {
             throw new ValidationException("Category ID must be a positive number");
         }
         log.debug("Fetching category with id: {}", id);
+        long missGeneration = negativeCache.categoryGeneration();
+        Set<CategoryField> selected = CategoryField.parse(fields);
+        CategoryDTO snapshot = catalogView.findCategory(id);
+        if (snapshot != null) {
+            return withCounts(snapshot);
+        }
+        if (negativeCache.isMissingCategory(id)) {
+            throw new ResourceNotFoundException("Category not found with id: " + id);
+        }
+        if (!selected.isEmpty()) {
+            return findProjected(selected, id, true).stream()
+                    .findFirst()
+                    .orElseThrow(() -> missingCategory(id, missGeneration));
+        }
         Category category = categoryRepository.findByIdAndActiveTrue(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Category not found with id: " + id));
-        return CategoryDTO.fromEntity(category);
+                .orElseThrow(() -> missingCategory(id, missGeneration));
+        return withCounts(CategoryDTO.fromEntity(category));
+    }
+
+    private ResourceNotFoundException missingCategory(Long id, long generation) {
+        negativeCache.recordMissingCategory(id, generation);
+        return new ResourceNotFoundException("Category not found with id: " + id);
     }
 
     /**
      * Get category by name
      */
+    @Coalesced
     public CategoryDTO getCategoryByName(String name) {
         if (!StringUtils.hasText(name)) {
             throw new ValidationException("Category name is required");
@@ -77,7 +143,7 @@ public class CategoryService {
         log.debug("Fetching category with name: {}", sanitizedName);
         Category category = categoryRepository.findByNameAndActiveTrue(sanitizedName)
                 .orElseThrow(() -> new ResourceNotFoundException("Category not found with name: " + sanitizedName));
-        return CategoryDTO.fromEntity(category);
+        return withCounts(CategoryDTO.fromEntity(category));
     }
 
     /**
@@ -94,17 +160,28 @@ public class CategoryService {
             throw new ValidationException("Category with name '" + categoryName + "' already exists");
         }
 
+        Category parent = categoryDTO.getParentId() != null ? findParent(categoryDTO.getParentId()) : null;
+
         log.debug("Creating new category: {}", categoryName);
         Category category = Category.builder()
                 .name(categoryName)
                 .description(categoryDTO.getDescription() != null ? categoryDTO.getDescription().trim() : null)
                 .image(categoryDTO.getImage() != null ? categoryDTO.getImage().trim() : null)
+                .parentId(parent != null ? parent.getId() : null)
                 .active(categoryDTO.getActive() != null ? categoryDTO.getActive() : true)
                 .build();
 
-        Category savedCategory = categoryRepository.save(category);
+        // The path ends with the generated id, so it is set once the row exists
+        category = categoryRepository.saveAndFlush(category);
+        category.setPath(pathUnder(parent, category.getId()));
+        Category savedCategory = categoryRepository.saveAndFlush(category);
+        CategoryDTO saved = CategoryDTO.fromEntity(savedCategory);
+        singleFlight.invalidateAfterCommit();
+        catalogView.putCategoryAfterCommit(saved);
+        categoryTree.rebuildAfterCommit();
+        negativeCache.forgetCategoryAfterCommit(saved.getId());
         log.info("Created category with id: {}", savedCategory.getId());
-        return CategoryDTO.fromEntity(savedCategory);
+        return saved;
     }
 
     /**
@@ -118,6 +195,11 @@ public class CategoryService {
         validateCategoryDTO(categoryDTO);
 
         log.debug("Updating category with id: {}", id);
+        Long newParentId = categoryDTO.getParentId();
+        if (newParentId != null && newParentId > 0) {
+            // Before the first load, so the rows below are read under the lock
+            lockForMove(id, newParentId);
+        }
         Category existingCategory = categoryRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Category not found with id: " + id));
 
@@ -138,9 +220,20 @@ public class CategoryService {
             existingCategory.setActive(categoryDTO.getActive());
         }
 
-        Category updatedCategory = categoryRepository.save(existingCategory);
+        Category updatedCategory = categoryRepository.saveAndFlush(existingCategory);
+        if (newParentId != null && !newParentId.equals(Objects.requireNonNullElse(existingCategory.getParentId(), 0L))) {
+            updatedCategory = move(updatedCategory, newParentId);
+        }
+        CategoryDTO updated = CategoryDTO.fromEntity(updatedCategory);
+        singleFlight.invalidateAfterCommit();
+        catalogView.putCategoryAfterCommit(updated);
+        categoryTree.rebuildAfterCommit();
+        if (Boolean.TRUE.equals(updated.getActive())) {
+            // Reactivation: the id may have been cached as missing while inactive
+            negativeCache.forgetCategoryAfterCommit(id);
+        }
         log.info("Updated category with id: {}", updatedCategory.getId());
-        return CategoryDTO.fromEntity(updatedCategory);
+        return withCounts(updated);
     }
 
     /**
@@ -152,10 +245,13 @@ public class CategoryService {
             throw new ValidationException("Category ID must be a positive number");
         }
         log.debug("Soft deleting category with id: {}", id);
-        Category category = categoryRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Category not found with id: " + id));
-        category.setActive(false);
-        categoryRepository.save(category);
+        LocalDateTime now = LocalDateTime.now();
+        if (categoryRepository.softDelete(id, now) == 0) {
+            throw new ResourceNotFoundException("Category not found with id: " + id);
+        }
+        singleFlight.invalidateAfterCommit();
+        catalogView.removeCategoryAfterCommit(id, now);
+        categoryTree.rebuildAfterCommit();
         log.info("Soft deleted category with id: {}", id);
     }
 
@@ -171,10 +267,118 @@ public class CategoryService {
         if (!categoryRepository.existsById(id)) {
             throw new ResourceNotFoundException("Category not found with id: " + id);
         }
+        if (categoryRepository.existsByParentId(id)) {
+            throw new ValidationException("Category " + id + " has subcategories; move or delete them first");
+        }
         categoryRepository.deleteById(id);
+        singleFlight.invalidateAfterCommit();
+        catalogView.removeCategoryAfterCommit(id, LocalDateTime.now());
+        categoryTree.rebuildAfterCommit();
         log.info("Hard deleted category with id: {}", id);
     }
 
+    /**
+     * Active category tree with product counts, from memory
+     */
+    public List<CategoryTreeDTO> getCategoryTree() {
+        log.debug("Fetching category tree");
+        return categoryTree.activeTree();
+    }
+
+    /**
+     * Lock the category and every ancestor of its new parent. Two moves that
+     * could close a loop between them (A under a descendant of B, B under a
+     * descendant of A) always share a locked row, so the second waits and
+     * then checks against the first's committed paths. A parent whose path
+     * changed between the unlocked read and the lock was moved meanwhile.
+     */
+    private void lockForMove(Long id, Long newParentId) {
+        String parentPath = categoryRepository.findPathById(newParentId).orElse(null);
+        Set<Long> ids = new TreeSet<>(pathIds(parentPath));
+        ids.add(id);
+        ids.add(newParentId);
+        for (Category locked : categoryRepository.lockAllById(ids)) {
+            if (locked.getId().equals(newParentId) && !Objects.equals(locked.getPath(), parentPath)) {
+                throw new ConflictException("Category " + newParentId + " was moved concurrently; retry");
+            }
+        }
+    }
+
+    /**
+     * Re-parent a category; {@code newParentId} 0 makes it top-level. One
+     * statement rewrites the path prefix of the whole branch. The caller
+     * holds the locks taken by {@link #lockForMove}.
+     */
+    private Category move(Category category, Long newParentId) {
+        Category parent = newParentId == 0 ? null : findParent(newParentId);
+        if (category.getPath() == null || (parent != null && parent.getPath() == null)) {
+            // Without both paths the subtree check below cannot be made
+            throw new ValidationException("Category " + category.getId()
+                    + " cannot be moved until its hierarchy path has been set; retry later");
+        }
+        if (parent != null && parent.getPath().startsWith(category.getPath())) {
+            throw new ValidationException("Category " + category.getId() + " cannot be moved under its own subtree");
+        }
+        String oldPath = category.getPath();
+        String newPath = pathUnder(parent, category.getId());
+        category.setParentId(parent != null ? parent.getId() : null);
+        category.setPath(newPath);
+        Category moved = categoryRepository.saveAndFlush(category);
+        if (!oldPath.equals(newPath)) {
+            int updated = categoryRepository.movePaths(oldPath, newPath, LocalDateTime.now());
+            log.info("Moved category {} under {} ({} paths rewritten)", category.getId(), newParentId, updated);
+            for (Category descendant : categoryRepository.findByPathStartingWith(newPath)) {
+                catalogView.putCategoryAfterCommit(CategoryDTO.fromEntity(descendant));
+            }
+            moved = categoryRepository.findById(category.getId()).orElse(moved);
+        }
+        return moved;
+    }
+
+    private Category findParent(Long parentId) {
+        if (parentId <= 0) {
+            throw new ValidationException("Parent category ID must be a positive number");
+        }
+        return categoryRepository.findById(parentId)
+                .orElseThrow(() -> new ValidationException("Parent category not found with id: " + parentId));
+    }
+
+    /**
+     * Ids along a materialized path such as {@code /3/17/42/}
+     */
+    private static List<Long> pathIds(String path) {
+        List<Long> ids = new ArrayList<>();
+        if (path != null) {
+            for (String segment : path.split("/")) {
+                if (!segment.isEmpty()) {
+                    ids.add(Long.valueOf(segment));
+                }
+            }
+        }
+        return ids;
+    }
+
+    private static String pathUnder(Category parent, Long id) {
+        String prefix = parent != null && parent.getPath() != null ? parent.getPath() : "/";
+        return prefix + id + "/";
+    }
+
+    private List<CategoryDTO> findProjected(Set<CategoryField> selected, Long id, boolean activeOnly) {
+        return categoryRepository.findProjection(CategoryField.properties(selected), id, activeOnly).stream()
+                .map(tuple -> withCounts(CategoryField.toDTO(tuple, selected)))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Copy with the in-memory product count and stock total filled in
+     */
+    private CategoryDTO withCounts(CategoryDTO dto) {
+        return dto.toBuilder()
+                .productCount(productCounters.productCount(dto.getId()))
+                .totalStock(productCounters.totalStock(dto.getId()))
+                .build();
+    }
+
     private void validateCategoryDTO(CategoryDTO dto) {
         if (dto == null) {
             throw new ValidationException("Category data is required");
@@ -0,0 +1,193 @@
+package com.ecommerce.core.service;
+
+import com.ecommerce.core.dto.CategoryTreeDTO;
+import com.ecommerce.core.model.Category;
+import com.ecommerce.core.repository.CategoryRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-memory copy of the category hierarchy. The tree is immutable and
+ * swapped whole through a volatile reference: rebuilt after every category
+ * write commits, and on a schedule to pick up other instances' writes.
+ */
+@Component
+@Slf4j
+public class CategoryTree {
+
+    private final CategoryRepository categoryRepository;
+    private final CategoryProductCounters productCounters;
+    private final TransactionTemplate transactionTemplate;
+
+    private volatile Map<Long, Node> nodes = Collections.emptyMap();
+    private volatile List<Node> roots = Collections.emptyList();
+
+    public CategoryTree(CategoryRepository categoryRepository, CategoryProductCounters productCounters,
+            PlatformTransactionManager transactionManager) {
+        this.categoryRepository = categoryRepository;
+        this.productCounters = productCounters;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        try {
+            Integer backfilled = transactionTemplate.execute(
+                    status -> categoryRepository.backfillRootPaths(LocalDateTime.now()));
+            if (backfilled != null && backfilled > 0) {
+                log.info("Backfilled materialized paths for {} top-level categories", backfilled);
+            }
+            rebuild();
+        } catch (DataAccessException e) {
+            log.warn("Could not build the category tree at startup: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${category.tree.refresh-interval-ms:60000}", initialDelayString = "${category.tree.refresh-interval-ms:60000}")
+    public void rebuild() {
+        Map<Long, Node> built = new HashMap<>();
+        for (Category category : categoryRepository.findAll()) {
+            built.put(category.getId(), new Node(category.getId(), category.getName(), category.getImage(),
+                    category.getParentId(), Boolean.TRUE.equals(category.getActive()),
+                    new ArrayList<>()));
+        }
+        List<Node> builtRoots = new ArrayList<>();
+        Map<Long, Long> attachedTo = new HashMap<>();
+        for (Node node : built.values()) {
+            Node parent = node.parentId() != null ? built.get(node.parentId()) : null;
+            if (parent != null && closesLoop(node.id(), parent.id(), attachedTo)) {
+                // The walks below recurse, so a parent cycle in the table would never end
+                log.warn("Category {} would close a parent loop through {}; showing it at the top level",
+                        node.id(), parent.id());
+                parent = null;
+            }
+            if (parent != null) {
+                parent.children().add(node);
+                attachedTo.put(node.id(), parent.id());
+            } else {
+                builtRoots.add(node);
+            }
+        }
+        Comparator<Node> byName = Comparator.comparing(Node::name, String.CASE_INSENSITIVE_ORDER);
+        built.values().forEach(node -> node.children().sort(byName));
+        builtRoots.sort(byName);
+
+        nodes = built;
+        roots = builtRoots;
+        log.debug("Rebuilt category tree with {} categories", built.size());
+    }
+
+    /**
+     * Whether {@code id} is {@code parentId} or one of its ancestors among the
+     * nodes attached so far; that chain never loops, so the walk ends
+     */
+    private static boolean closesLoop(Long id, Long parentId, Map<Long, Long> attachedTo) {
+        for (Long ancestor = parentId; ancestor != null; ancestor = attachedTo.get(ancestor)) {
+            if (ancestor.equals(id)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Rebuild once the current transaction commits
+     */
+    public void rebuildAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            rebuild();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                try {
+                    rebuild();
+                } catch (DataAccessException e) {
+                    // The scheduled rebuild catches up
+                    log.warn("Could not rebuild the category tree: {}", e.getMessage());
+                }
+            }
+        });
+    }
+
+    /**
+     * The category and every descendant reachable through active categories,
+     * matching what {@link #activeTree()} shows below it; {@code null} when
+     * the category is not in the tree
+     */
+    public List<Long> activeSubtreeIds(Long id) {
+        Node node = nodes.get(id);
+        if (node == null) {
+            return null;
+        }
+        List<Long> ids = new ArrayList<>();
+        collectActive(node, ids);
+        return ids;
+    }
+
+    private void collectActive(Node node, List<Long> ids) {
+        ids.add(node.id());
+        for (Node child : node.children()) {
+            if (child.active()) {
+                collectActive(child, ids);
+            }
+        }
+    }
+
+    /**
+     * Active categories as a nested tree; a deactivated category hides its
+     * whole branch
+     */
+    public List<CategoryTreeDTO> activeTree() {
+        List<CategoryTreeDTO> result = new ArrayList<>();
+        for (Node root : roots) {
+            if (root.active()) {
+                result.add(toDTO(root));
+            }
+        }
+        return result;
+    }
+
+    private CategoryTreeDTO toDTO(Node node) {
+        List<CategoryTreeDTO> children = new ArrayList<>();
+        long productCount = productCounters.productCount(node.id());
+        long subtreeCount = productCount;
+        for (Node child : node.children()) {
+            if (child.active()) {
+                CategoryTreeDTO dto = toDTO(child);
+                subtreeCount += dto.getSubtreeProductCount();
+                children.add(dto);
+            }
+        }
+        return CategoryTreeDTO.builder()
+                .id(node.id())
+                .name(node.name())
+                .image(node.image())
+                .parentId(node.parentId())
+                .productCount(productCount)
+                .subtreeProductCount(subtreeCount)
+                .children(children)
+                .build();
+    }
+
+    private record Node(Long id, String name, String image, Long parentId, boolean active,
+            List<Node> children) {
+    }
+}
@@ -0,0 +1,18 @@
+package com.ecommerce.core.service;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a read whose identical concurrent calls (same method, equal
+ * arguments) should share one execution through {@link SingleFlight}.
+ * Only calls made through the Spring proxy are coalesced.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Coalesced {
+}
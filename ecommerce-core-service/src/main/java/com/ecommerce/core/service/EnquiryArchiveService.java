@@ -0,0 +1,129 @@
+package com.ecommerce.core.service;
+
+import com.ecommerce.core.model.ArchivedEnquiry;
+import com.ecommerce.core.model.Enquiry;
+import com.ecommerce.core.model.Enquiry.EnquiryStatus;
+import com.ecommerce.core.repository.ArchivedEnquiryRepository;
+import com.ecommerce.core.repository.EnquiryRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * Moves old RESOLVED enquiries from {@code enquiries} into
+ * {@code enquiries_archive}. Each chunk is copied and deleted in its own short
+ * transaction so live writes are never blocked for the length of a full run.
+ */
+@Service
+@Slf4j
+public class EnquiryArchiveService {
+
+    private final EnquiryRepository enquiryRepository;
+    private final ArchivedEnquiryRepository archivedEnquiryRepository;
+    private final EnquiryStatusCounters statusCounters;
+    private final TransactionTemplate chunkTransaction;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    @Value("${enquiry.archive.enabled:true}")
+    private boolean enabled;
+
+    @Value("${enquiry.archive.max-age-days:180}")
+    private int maxAgeDays;
+
+    @Value("${enquiry.archive.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${enquiry.archive.max-chunks-per-run:200}")
+    private int maxChunksPerRun;
+
+    public EnquiryArchiveService(EnquiryRepository enquiryRepository,
+            ArchivedEnquiryRepository archivedEnquiryRepository,
+            EnquiryStatusCounters statusCounters,
+            PlatformTransactionManager transactionManager) {
+        this.enquiryRepository = enquiryRepository;
+        this.archivedEnquiryRepository = archivedEnquiryRepository;
+        this.statusCounters = statusCounters;
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(cron = "${enquiry.archive.cron:0 30 3 * * *}")
+    public void scheduledArchive() {
+        if (!enabled) {
+            return;
+        }
+        archiveResolved();
+    }
+
+    /**
+     * Archive RESOLVED enquiries untouched for longer than the configured age.
+     *
+     * @return number of enquiries moved to the archive
+     */
+    public int archiveResolved() {
+        if (!running.compareAndSet(false, true)) {
+            log.info("Enquiry archival already running, skipping");
+            return 0;
+        }
+        try {
+            LocalDateTime cutoff = LocalDateTime.now().minusDays(Math.max(0, maxAgeDays));
+            int size = Math.max(1, chunkSize);
+            int total = 0;
+            for (int chunk = 0; chunk < maxChunksPerRun; chunk++) {
+                Integer moved;
+                try {
+                    moved = chunkTransaction.execute(status -> archiveChunk(cutoff, size));
+                } catch (IllegalStateException e) {
+                    log.warn("Stopping enquiry archival early: {}", e.getMessage());
+                    break;
+                }
+                if (moved == null || moved == 0) {
+                    break;
+                }
+                total += moved;
+                if (moved < size) {
+                    break;
+                }
+            }
+            if (total > 0) {
+                log.info("Archived {} resolved enquiries older than {}", total, cutoff);
+            }
+            return total;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private int archiveChunk(LocalDateTime cutoff, int size) {
+        List<Enquiry> batch = enquiryRepository.findArchivable(EnquiryStatus.RESOLVED, cutoff,
+                PageRequest.of(0, size));
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        LocalDateTime archivedAt = LocalDateTime.now();
+        archivedEnquiryRepository.saveAll(batch.stream()
+                .map(enquiry -> ArchivedEnquiry.fromEnquiry(enquiry, archivedAt))
+                .collect(Collectors.toList()));
+        archivedEnquiryRepository.flush();
+
+        List<Long> ids = batch.stream().map(Enquiry::getId).collect(Collectors.toList());
+        int deleted = enquiryRepository.deleteArchived(ids, EnquiryStatus.RESOLVED, cutoff);
+        if (deleted != batch.size()) {
+            // A row changed since it was read; roll the chunk back and let the next run retry
+            throw new IllegalStateException(
+                    "Archive chunk changed concurrently: copied " + batch.size() + ", deleted " + deleted);
+        }
+        statusCounters.recordDeleted(EnquiryStatus.RESOLVED, deleted);
+        return deleted;
+    }
+}
@@ -0,0 +1,236 @@
+package com.ecommerce.core.service;
+
+import com.ecommerce.core.dto.BulkEnquiryRequest;
+import com.ecommerce.core.dto.BulkOperationResultDTO;
+import com.ecommerce.core.dto.BulkOperationResultDTO.ChunkResult;
+import com.ecommerce.core.exception.ValidationException;
+import com.ecommerce.core.model.Enquiry.EnquiryStatus;
+import com.ecommerce.core.repository.EnquiryRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.ToIntFunction;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk status transitions and deletes for enquiries. Targets are split into
+ * id chunks and each chunk is applied with set-based UPDATE/DELETE
+ * statements (one per source status, so the status counters stay exact) in
+ * its own short transaction.
+ */
+@Service
+@Slf4j
+public class EnquiryBulkService {
+
+    private final EnquiryRepository enquiryRepository;
+    private final EnquiryStatusCounters statusCounters;
+    private final TransactionTemplate chunkTransaction;
+
+    @Value("${enquiry.bulk.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${enquiry.bulk.max-chunks-per-request:100}")
+    private int maxChunksPerRequest;
+
+    public EnquiryBulkService(EnquiryRepository enquiryRepository, EnquiryStatusCounters statusCounters,
+            PlatformTransactionManager transactionManager) {
+        this.enquiryRepository = enquiryRepository;
+        this.statusCounters = statusCounters;
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Move every targeted enquiry to {@code status}
+     */
+    public BulkOperationResultDTO updateStatus(BulkEnquiryRequest request, EnquiryStatus status) {
+        if (status == null) {
+            throw new ValidationException("Status is required");
+        }
+        validate(request);
+        Set<EnquiryStatus> sources = sourceStatuses(request);
+        sources.remove(status);
+        LocalDateTime createdBefore = request.getCreatedBefore();
+
+        log.info("Bulk status update to {} - ids: {}, currentStatus: {}, createdBefore: {}", status,
+                request.getIds() != null ? request.getIds().size() : null, request.getCurrentStatus(), createdBefore);
+        return run("status:" + status, request, ids -> {
+            LocalDateTime now = LocalDateTime.now();
+            int affected = 0;
+            for (EnquiryStatus from : sources) {
+                int moved = enquiryRepository.bulkTransitionStatus(ids, from, status, createdBefore, now);
+                statusCounters.recordTransition(from, status, moved);
+                affected += moved;
+            }
+            return affected;
+        });
+    }
+
+    /**
+     * Permanently delete every targeted enquiry
+     */
+    public BulkOperationResultDTO delete(BulkEnquiryRequest request) {
+        validate(request);
+        Set<EnquiryStatus> sources = sourceStatuses(request);
+        LocalDateTime createdBefore = request.getCreatedBefore();
+
+        log.info("Bulk delete - ids: {}, currentStatus: {}, createdBefore: {}",
+                request.getIds() != null ? request.getIds().size() : null, request.getCurrentStatus(), createdBefore);
+        return run("delete", request, ids -> {
+            int affected = 0;
+            for (EnquiryStatus status : sources) {
+                int deleted = enquiryRepository.bulkDelete(ids, status, createdBefore);
+                statusCounters.recordDeleted(status, deleted);
+                affected += deleted;
+            }
+            return affected;
+        });
+    }
+
+    private BulkOperationResultDTO run(String operation, BulkEnquiryRequest request,
+            ToIntFunction<List<Long>> action) {
+        int size = Math.max(1, chunkSize);
+        ChunkSource source = hasIds(request)
+                ? new IdListSource(request.getIds(), size)
+                : new FilterSource(request, size);
+
+        List<ChunkResult> chunks = new ArrayList<>();
+        long total = 0;
+        boolean failed = false;
+        for (int chunk = 0; chunk < maxChunksPerRequest; chunk++) {
+            List<Long> ids = source.next();
+            if (ids.isEmpty()) {
+                break;
+            }
+            long start = System.nanoTime();
+            ChunkResult.ChunkResultBuilder result = ChunkResult.builder().chunk(chunk).candidates(ids.size());
+            try {
+                Integer affected = chunkTransaction.execute(status -> action.applyAsInt(ids));
+                int count = affected != null ? affected : 0;
+                total += count;
+                result.affected(count);
+            } catch (DataAccessException | TransactionException e) {
+                log.warn("Bulk {} stopped at chunk {}: {}", operation, chunk, e.getMessage());
+                result.error(e.getMostSpecificCause().getMessage());
+                failed = true;
+            }
+            chunks.add(result.durationMs((System.nanoTime() - start) / 1_000_000).build());
+            if (failed) {
+                break;
+            }
+        }
+
+        boolean complete = !failed && source.exhausted();
+        log.info("Bulk {} affected {} enquiries in {} chunks (complete: {})", operation, total, chunks.size(),
+                complete);
+        return BulkOperationResultDTO.builder()
+                .operation(operation)
+                .affected(total)
+                .complete(complete)
+                .chunks(chunks)
+                .build();
+    }
+
+    private void validate(BulkEnquiryRequest request) {
+        if (request == null) {
+            throw new ValidationException("Bulk request body is required");
+        }
+        if (!hasIds(request) && request.getCurrentStatus() == null && request.getCreatedBefore() == null) {
+            throw new ValidationException("Provide ids or at least one filter (currentStatus, createdBefore)");
+        }
+        if (hasIds(request) && request.getIds().stream().anyMatch(id -> id == null || id <= 0)) {
+            throw new ValidationException("Enquiry IDs must be positive numbers");
+        }
+    }
+
+    private static boolean hasIds(BulkEnquiryRequest request) {
+        return request.getIds() != null && !request.getIds().isEmpty();
+    }
+
+    private static Set<EnquiryStatus> sourceStatuses(BulkEnquiryRequest request) {
+        return request.getCurrentStatus() != null
+                ? EnumSet.of(request.getCurrentStatus())
+                : EnumSet.allOf(EnquiryStatus.class);
+    }
+
+    private interface ChunkSource {
+        /** Next chunk of candidate ids, empty when done */
+        List<Long> next();
+
+        boolean exhausted();
+    }
+
+    private static final class IdListSource implements ChunkSource {
+        private final List<Long> ids;
+        private final int size;
+        private int offset;
+
+        IdListSource(Set<Long> ids, int size) {
+            this.ids = ids.stream().sorted().collect(Collectors.toList());
+            this.size = size;
+        }
+
+        @Override
+        public List<Long> next() {
+            if (offset >= ids.size()) {
+                return Collections.emptyList();
+            }
+            List<Long> chunk = ids.subList(offset, Math.min(ids.size(), offset + size));
+            offset += chunk.size();
+            return chunk;
+        }
+
+        @Override
+        public boolean exhausted() {
+            return offset >= ids.size();
+        }
+    }
+
+    /**
+     * Walks matching ids in ascending order, so rows changed by earlier
+     * chunks are never revisited
+     */
+    private final class FilterSource implements ChunkSource {
+        private final BulkEnquiryRequest request;
+        private final int size;
+        private long afterId;
+        private boolean exhausted;
+
+        FilterSource(BulkEnquiryRequest request, int size) {
+            this.request = request;
+            this.size = size;
+        }
+
+        @Override
+        public List<Long> next() {
+            if (exhausted) {
+                return Collections.emptyList();
+            }
+            List<Long> ids = enquiryRepository.findIdsMatching(afterId, request.getCurrentStatus(),
+                    request.getCreatedBefore(), PageRequest.of(0, size));
+            if (ids.size() < size) {
+                exhausted = true;
+            }
+            if (!ids.isEmpty()) {
+                afterId = ids.get(ids.size() - 1);
+            }
+            return ids;
+        }
+
+        @Override
+        public boolean exhausted() {
+            return exhausted;
+        }
+    }
+}
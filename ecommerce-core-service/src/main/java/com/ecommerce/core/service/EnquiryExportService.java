@@ -0,0 +1,299 @@
+package com.ecommerce.core.service;
+
+import com.ecommerce.core.exception.ValidationException;
+import com.ecommerce.core.model.Enquiry.EnquiryStatus;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Streams enquiries as CSV or NDJSON from a forward-only JDBC cursor straight
+ * to the response, one row at a time, so an export of any size runs in
+ * constant memory and without the OFFSET and COUNT of paging
+ * {@code GET /enquiries}. MySQL streams rows as the server sends them (fetch
+ * size {@code Integer.MIN_VALUE}); other drivers fetch
+ * {@code enquiry.export.fetch-size} rows per round trip.
+ */
+@Service
+@Slf4j
+public class EnquiryExportService {
+
+    private static final String[] COLUMNS = {
+            "id", "name", "email", "phone", "message", "productId", "status", "createdAt", "updatedAt"};
+
+    private static final int WRITE_BUFFER_CHARS = 16 * 1024;
+
+    public enum Format {
+        CSV(new MediaType("text", "csv", StandardCharsets.UTF_8), "csv"),
+        NDJSON(MediaType.APPLICATION_NDJSON, "ndjson");
+
+        private final MediaType mediaType;
+        private final String extension;
+
+        Format(MediaType mediaType, String extension) {
+            this.mediaType = mediaType;
+            this.extension = extension;
+        }
+
+        public MediaType mediaType() {
+            return mediaType;
+        }
+
+        public String extension() {
+            return extension;
+        }
+
+        public static Format parse(String value) {
+            if (!StringUtils.hasText(value)) {
+                return CSV;
+            }
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new ValidationException("Export format must be 'csv' or 'ndjson'");
+            }
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${enquiry.export.fetch-size:1000}")
+    private int fetchSize;
+
+    public EnquiryExportService(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Reject an empty or inverted date range before anything is written
+     */
+    public void validate(LocalDateTime createdFrom, LocalDateTime createdBefore) {
+        if (createdFrom != null && createdBefore != null && !createdFrom.isBefore(createdBefore)) {
+            throw new ValidationException("createdFrom must be before createdBefore");
+        }
+    }
+
+    /**
+     * Write every enquiry matching the filters, oldest first, to {@code out}.
+     *
+     * @return number of rows written
+     */
+    public long export(Format format, EnquiryStatus status, LocalDateTime createdFrom, LocalDateTime createdBefore,
+            OutputStream out) throws IOException {
+        validate(createdFrom, createdBefore);
+        StringBuilder sql = new StringBuilder(
+                "SELECT id, name, email, phone, message, product_id, status, created_at, updated_at FROM enquiries");
+        List<Object> args = new ArrayList<>(3);
+        String separator = " WHERE ";
+        if (status != null) {
+            sql.append(separator).append("status = ?");
+            args.add(status.name());
+            separator = " AND ";
+        }
+        if (createdFrom != null) {
+            sql.append(separator).append("created_at >= ?");
+            args.add(Timestamp.valueOf(createdFrom));
+            separator = " AND ";
+        }
+        if (createdBefore != null) {
+            sql.append(separator).append("created_at < ?");
+            args.add(Timestamp.valueOf(createdBefore));
+        }
+        sql.append(" ORDER BY created_at, id");
+
+        long startNanos = System.nanoTime();
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), WRITE_BUFFER_CHARS);
+        RowWriter rows = format == Format.NDJSON ? new NdjsonWriter(writer) : new CsvWriter(writer);
+        long[] count = {0};
+        try {
+            rows.start();
+            jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(sql.toString(),
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                statement.setFetchSize(isMySql(connection.getMetaData().getDatabaseProductName())
+                        ? Integer.MIN_VALUE : Math.max(1, fetchSize));
+                for (int i = 0; i < args.size(); i++) {
+                    statement.setObject(i + 1, args.get(i));
+                }
+                return statement;
+            }, (RowCallbackHandler) rs -> {
+                try {
+                    rows.write(rs);
+                    count[0]++;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            rows.finish();
+        } catch (UncheckedIOException e) {
+            // Client went away mid-export; the cursor is already closed
+            throw e.getCause();
+        }
+        writer.flush();
+        log.info("Exported {} enquiries as {} in {} ms (status: {}, createdFrom: {}, createdBefore: {})", count[0],
+                format, (System.nanoTime() - startNanos) / 1_000_000, status, createdFrom, createdBefore);
+        return count[0];
+    }
+
+    private static boolean isMySql(String productName) {
+        return productName != null && productName.toLowerCase(Locale.ROOT).contains("mysql");
+    }
+
+    private static String timestamp(ResultSet rs, String column) throws SQLException {
+        Timestamp value = rs.getTimestamp(column);
+        return value == null ? null : DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(value.toLocalDateTime());
+    }
+
+    private static Long nullableLong(ResultSet rs, String column) throws SQLException {
+        long value = rs.getLong(column);
+        return rs.wasNull() ? null : value;
+    }
+
+    private interface RowWriter {
+        void start() throws IOException;
+
+        void write(ResultSet rs) throws IOException, SQLException;
+
+        void finish() throws IOException;
+    }
+
+    /**
+     * RFC 4180 CSV with a header row. Cells a spreadsheet would run as a
+     * formula get a leading apostrophe.
+     */
+    private static final class CsvWriter implements RowWriter {
+
+        private final Writer writer;
+
+        CsvWriter(Writer writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void start() throws IOException {
+            writer.write(String.join(",", COLUMNS));
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void write(ResultSet rs) throws IOException, SQLException {
+            writer.write(Long.toString(rs.getLong("id")));
+            cell(rs.getString("name"));
+            cell(rs.getString("email"));
+            cell(rs.getString("phone"));
+            cell(rs.getString("message"));
+            Long productId = nullableLong(rs, "product_id");
+            cell(productId == null ? null : productId.toString());
+            cell(rs.getString("status"));
+            cell(timestamp(rs, "created_at"));
+            cell(timestamp(rs, "updated_at"));
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void finish() {
+        }
+
+        private void cell(String value) throws IOException {
+            writer.write(',');
+            if (value == null || value.isEmpty()) {
+                return;
+            }
+            String text = isFormula(value) ? "'" + value : value;
+            if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+                writer.write(text);
+                return;
+            }
+            writer.write('"');
+            writer.write(text.replace("\"", "\"\""));
+            writer.write('"');
+        }
+
+        /** {@code =}, {@code @}, tab or CR lead a formula; so do {@code +}/{@code -} unless the cell is phone-like */
+        private static boolean isFormula(String value) {
+            char first = value.charAt(0);
+            if (first == '=' || first == '@' || first == '\t' || first == '\r') {
+                return true;
+            }
+            if (first != '+' && first != '-') {
+                return false;
+            }
+            for (int i = 1; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (!Character.isDigit(c) && c != ' ' && c != '-' && c != '.' && c != '(' && c != ')') {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * One JSON object per line, with the field names of {@code EnquiryDTO}
+     */
+    private final class NdjsonWriter implements RowWriter {
+
+        private final JsonGenerator generator;
+
+        NdjsonWriter(Writer writer) throws IOException {
+            this.generator = objectMapper.getFactory().createGenerator(writer)
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            this.generator.setRootValueSeparator(null);
+        }
+
+        @Override
+        public void start() {
+        }
+
+        @Override
+        public void write(ResultSet rs) throws IOException, SQLException {
+            generator.writeStartObject();
+            generator.writeNumberField("id", rs.getLong("id"));
+            generator.writeStringField("name", rs.getString("name"));
+            generator.writeStringField("email", rs.getString("email"));
+            generator.writeStringField("phone", rs.getString("phone"));
+            generator.writeStringField("message", rs.getString("message"));
+            Long productId = nullableLong(rs, "product_id");
+            if (productId == null) {
+                generator.writeNullField("productId");
+            } else {
+                generator.writeNumberField("productId", productId);
+            }
+            generator.writeStringField("status", rs.getString("status"));
+            generator.writeStringField("createdAt", timestamp(rs, "created_at"));
+            generator.writeStringField("updatedAt", timestamp(rs, "updated_at"));
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void finish() throws IOException {
+            generator.close();
+        }
+    }
+}
@@ -1,10 +1,13 @@
 package com.ecommerce.core.service;
 
 import com.ecommerce.core.dto.EnquiryDTO;
+import com.ecommerce.core.dto.EnquirySliceDTO;
 import com.ecommerce.core.exception.ResourceNotFoundException;
 import com.ecommerce.core.exception.ValidationException;
+import com.ecommerce.core.model.ArchivedEnquiry;
 import com.ecommerce.core.model.Enquiry;
 import com.ecommerce.core.model.Enquiry.EnquiryStatus;
+import com.ecommerce.core.repository.ArchivedEnquiryRepository;
 import com.ecommerce.core.repository.EnquiryRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -17,8 +20,19 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -27,11 +41,18 @@ import java.util.regex.Pattern;
 public class EnquiryService {
 
     private final EnquiryRepository enquiryRepository;
+    private final ArchivedEnquiryRepository archivedEnquiryRepository;
+    private final EnquiryStatusCounters statusCounters;
+    private final RelatedProducts relatedProducts;
 
     // Email validation pattern
     private static final Pattern EMAIL_PATTERN = Pattern.compile(
             "^[a-zA-Z0-9._%+-]+@[a-zA-Z0-9.-]+\\.[a-zA-Z]{2,}$");
 
+    private static final Comparator<EnquiryDTO> NEWEST_FIRST = Comparator
+            .comparing(EnquiryDTO::getCreatedAt, Comparator.reverseOrder())
+            .thenComparing(EnquiryDTO::getId, Comparator.reverseOrder());
+
     // Phone validation pattern - allows various formats
     private static final Pattern PHONE_PATTERN = Pattern.compile(
             "^[+]?[0-9\\-\\s()]{7,20}$");
@@ -50,18 +71,35 @@ public class EnquiryService {
                 .status(EnquiryStatus.PENDING)
                 .build();
         Enquiry savedEnquiry = enquiryRepository.save(enquiry);
+        statusCounters.recordCreated(savedEnquiry.getStatus());
+        relatedProducts.record(savedEnquiry.getEmail(), savedEnquiry.getProductId());
         log.info("Created enquiry with id: {}", savedEnquiry.getId());
         return convertToDTO(savedEnquiry);
     }
 
     public EnquiryDTO getEnquiryById(Long id) {
+        return getEnquiryById(id, false);
+    }
+
+    /**
+     * Get enquiry by ID, falling back to the archive when requested
+     */
+    public EnquiryDTO getEnquiryById(Long id, boolean includeArchived) {
         if (id == null || id <= 0) {
             throw new ValidationException("Enquiry ID must be a positive number");
         }
-        log.debug("Fetching enquiry with id: {}", id);
-        Enquiry enquiry = enquiryRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Enquiry not found with id: " + id));
-        return convertToDTO(enquiry);
+        log.debug("Fetching enquiry with id: {}, includeArchived: {}", id, includeArchived);
+        Optional<Enquiry> enquiry = enquiryRepository.findById(id);
+        if (enquiry.isPresent()) {
+            return convertToDTO(enquiry.get());
+        }
+        if (includeArchived) {
+            Optional<ArchivedEnquiry> archived = archivedEnquiryRepository.findById(id);
+            if (archived.isPresent()) {
+                return convertToDTO(archived.get());
+            }
+        }
+        throw new ResourceNotFoundException("Enquiry not found with id: " + id);
     }
 
     public Page<EnquiryDTO> getAllEnquiries(int page, int size) {
@@ -102,6 +140,48 @@ public class EnquiryService {
         return enquiryPage.map(this::convertToDTO);
     }
 
+    /**
+     * Count-free listing: keyset pagination on (createdAt, id) with a has-next
+     * flag. The total is read from the in-memory status counters and covers
+     * live enquiries only. Archived enquiries are merged in only when asked.
+     */
+    public EnquirySliceDTO getEnquirySlice(EnquiryStatus status, String cursor, int size, boolean includeArchived) {
+        size = Math.max(1, Math.min(100, size));
+        Pageable limit = PageRequest.of(0, size + 1);
+        Cursor position = StringUtils.hasText(cursor) ? decodeCursor(cursor) : null;
+
+        log.debug("Fetching enquiry slice - status: {}, cursor: {}, size: {}, includeArchived: {}",
+                status, cursor, size, includeArchived);
+        List<EnquiryDTO> rows = fetchLiveSlice(status, position, limit).stream()
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
+        if (includeArchived) {
+            List<EnquiryDTO> archived = fetchArchivedSlice(status, position, limit).stream()
+                    .map(this::convertToDTO)
+                    .collect(Collectors.toList());
+            rows = mergeNewestFirst(rows, archived, size + 1);
+        }
+
+        boolean hasNext = rows.size() > size;
+        List<EnquiryDTO> content = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = hasNext ? encodeCursor(content.get(content.size() - 1)) : null;
+
+        return EnquirySliceDTO.builder()
+                .content(content)
+                .size(size)
+                .hasNext(hasNext)
+                .nextCursor(nextCursor)
+                .total(status != null ? statusCounters.count(status) : statusCounters.total())
+                .build();
+    }
+
+    /**
+     * Enquiry totals per status, served from the in-memory counters
+     */
+    public Map<String, Long> getEnquiryCounts() {
+        return statusCounters.snapshot();
+    }
+
     @Transactional
     public EnquiryDTO updateEnquiryStatus(Long id, EnquiryStatus status) {
         if (id == null || id <= 0) {
@@ -112,14 +192,24 @@ public class EnquiryService {
         }
 
         log.debug("Updating enquiry {} status to: {}", id, status);
+        // One conditional UPDATE per possible current status, so the write needs no read first and
+        // the status it replaced feeds the counters; a row matches at most one of them
+        LocalDateTime now = LocalDateTime.now();
+        EnquiryStatus oldStatus = null;
+        for (EnquiryStatus from : sourcesFor(status)) {
+            if (enquiryRepository.transitionStatus(id, from, status, now) > 0) {
+                oldStatus = from;
+                break;
+            }
+        }
+        // The read only builds the response body; the UPDATE cleared the persistence context
         Enquiry enquiry = enquiryRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Enquiry not found with id: " + id));
-
-        EnquiryStatus oldStatus = enquiry.getStatus();
-        enquiry.setStatus(status);
-        Enquiry updatedEnquiry = enquiryRepository.save(enquiry);
-        log.info("Updated enquiry {} status from {} to {}", id, oldStatus, status);
-        return convertToDTO(updatedEnquiry);
+        if (oldStatus != null) {
+            statusCounters.recordTransition(oldStatus, status);
+            log.info("Updated enquiry {} status from {} to {}", id, oldStatus, status);
+        }
+        return convertToDTO(enquiry);
     }
 
     @Transactional
@@ -128,11 +218,28 @@ public class EnquiryService {
             throw new ValidationException("Enquiry ID must be a positive number");
         }
         log.debug("Deleting enquiry with id: {}", id);
-        if (!enquiryRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Enquiry not found with id: " + id);
+        // Conditional DELETE per status, as in the bulk delete, so the counters know what was removed
+        for (EnquiryStatus status : EnquiryStatus.values()) {
+            if (enquiryRepository.deleteByIdAndStatus(id, status) > 0) {
+                statusCounters.recordDeleted(status, 1);
+                log.info("Deleted enquiry with id: {}", id);
+                return;
+            }
         }
-        enquiryRepository.deleteById(id);
-        log.info("Deleted enquiry with id: {}", id);
+        throw new ResourceNotFoundException("Enquiry not found with id: " + id);
+    }
+
+    /**
+     * Every status other than {@code target}, its usual predecessor in the
+     * PENDING -> REVIEWED -> RESOLVED workflow first, so the common
+     * transitions take a single UPDATE
+     */
+    private static List<EnquiryStatus> sourcesFor(EnquiryStatus target) {
+        int count = EnquiryStatus.values().length;
+        return Arrays.stream(EnquiryStatus.values())
+                .filter(from -> from != target)
+                .sorted(Comparator.comparingInt(from -> Math.floorMod(target.ordinal() - from.ordinal(), count)))
+                .toList();
     }
 
     private void validateEnquiryDTO(EnquiryDTO dto) {
@@ -192,6 +299,78 @@ public class EnquiryService {
         return phone.trim().replaceAll("[^0-9+\\-()\\s]", "");
     }
 
+    private List<Enquiry> fetchLiveSlice(EnquiryStatus status, Cursor position, Pageable limit) {
+        if (position != null) {
+            return status != null
+                    ? enquiryRepository.findByStatusAfterCursor(status, position.createdAt(), position.id(), limit)
+                    : enquiryRepository.findAfterCursor(position.createdAt(), position.id(), limit);
+        }
+        return status != null
+                ? enquiryRepository.findByStatusOrderByCreatedAtDescIdDesc(status, limit)
+                : enquiryRepository.findAllByOrderByCreatedAtDescIdDesc(limit);
+    }
+
+    private List<ArchivedEnquiry> fetchArchivedSlice(EnquiryStatus status, Cursor position, Pageable limit) {
+        if (position != null) {
+            return status != null
+                    ? archivedEnquiryRepository.findByStatusAfterCursor(status, position.createdAt(), position.id(), limit)
+                    : archivedEnquiryRepository.findAfterCursor(position.createdAt(), position.id(), limit);
+        }
+        return status != null
+                ? archivedEnquiryRepository.findByStatusOrderByCreatedAtDescIdDesc(status, limit)
+                : archivedEnquiryRepository.findAllByOrderByCreatedAtDescIdDesc(limit);
+    }
+
+    private static List<EnquiryDTO> mergeNewestFirst(List<EnquiryDTO> live, List<EnquiryDTO> archived, int limit) {
+        List<EnquiryDTO> merged = new ArrayList<>(Math.min(limit, live.size() + archived.size()));
+        int i = 0;
+        int j = 0;
+        while (merged.size() < limit && (i < live.size() || j < archived.size())) {
+            if (j >= archived.size() || (i < live.size() && NEWEST_FIRST.compare(live.get(i), archived.get(j)) <= 0)) {
+                merged.add(live.get(i++));
+            } else {
+                merged.add(archived.get(j++));
+            }
+        }
+        return merged;
+    }
+
+    private String encodeCursor(EnquiryDTO last) {
+        String raw = last.getCreatedAt() + "|" + last.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Cursor decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            if (separator <= 0) {
+                throw new ValidationException("Invalid cursor");
+            }
+            return new Cursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new ValidationException("Invalid cursor");
+        }
+    }
+
+    private record Cursor(LocalDateTime createdAt, Long id) {
+    }
+
+    private EnquiryDTO convertToDTO(ArchivedEnquiry enquiry) {
+        return EnquiryDTO.builder()
+                .id(enquiry.getId())
+                .name(enquiry.getName())
+                .email(enquiry.getEmail())
+                .phone(enquiry.getPhone())
+                .message(enquiry.getMessage())
+                .productId(enquiry.getProductId())
+                .status(enquiry.getStatus() != null ? enquiry.getStatus().toString() : EnquiryStatus.RESOLVED.toString())
+                .createdAt(enquiry.getCreatedAt())
+                .updatedAt(enquiry.getUpdatedAt())
+                .build();
+    }
+
     private EnquiryDTO convertToDTO(Enquiry enquiry) {
         if (enquiry == null) {
             return null;
@@ -0,0 +1,123 @@
+package com.ecommerce.core.service;
+
+import com.ecommerce.core.model.Enquiry.EnquiryStatus;
+import com.ecommerce.core.repository.EnquiryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-status enquiry totals kept in memory so listings never need COUNT(*).
+ * Writes adjust the counters after their transaction commits; a periodic
+ * GROUP BY reconcile corrects drift from other instances or direct SQL.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class EnquiryStatusCounters {
+
+    private final EnquiryRepository enquiryRepository;
+
+    private final Map<EnquiryStatus, AtomicLong> counters = new EnumMap<>(EnquiryStatus.class);
+
+    {
+        for (EnquiryStatus status : EnquiryStatus.values()) {
+            counters.put(status, new AtomicLong());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        try {
+            reconcile();
+        } catch (DataAccessException e) {
+            // Counters start at zero and are corrected by the next scheduled reconcile
+            log.warn("Could not load enquiry counters at startup: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${enquiry.counters.reconcile-interval-ms:300000}", initialDelayString = "${enquiry.counters.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        Map<EnquiryStatus, Long> actual = new EnumMap<>(EnquiryStatus.class);
+        for (Object[] row : enquiryRepository.countGroupedByStatus()) {
+            actual.put((EnquiryStatus) row[0], (Long) row[1]);
+        }
+        for (EnquiryStatus status : EnquiryStatus.values()) {
+            long expected = actual.getOrDefault(status, 0L);
+            long previous = counters.get(status).getAndSet(expected);
+            if (previous != expected) {
+                log.debug("Reconciled {} enquiry count from {} to {}", status, previous, expected);
+            }
+        }
+    }
+
+    public long count(EnquiryStatus status) {
+        return counters.get(status).get();
+    }
+
+    public long total() {
+        long total = 0;
+        for (AtomicLong counter : counters.values()) {
+            total += counter.get();
+        }
+        return total;
+    }
+
+    public Map<String, Long> snapshot() {
+        Map<String, Long> snapshot = new LinkedHashMap<>();
+        for (EnquiryStatus status : EnquiryStatus.values()) {
+            snapshot.put(status.name(), count(status));
+        }
+        snapshot.put("TOTAL", total());
+        return snapshot;
+    }
+
+    public void recordCreated(EnquiryStatus status) {
+        afterCommit(() -> counters.get(status).incrementAndGet());
+    }
+
+    public void recordTransition(EnquiryStatus from, EnquiryStatus to) {
+        recordTransition(from, to, 1);
+    }
+
+    public void recordTransition(EnquiryStatus from, EnquiryStatus to, long count) {
+        if (from == to || count <= 0) {
+            return;
+        }
+        afterCommit(() -> {
+            counters.get(from).addAndGet(-count);
+            counters.get(to).addAndGet(count);
+        });
+    }
+
+    public void recordDeleted(EnquiryStatus status, long count) {
+        if (count <= 0) {
+            return;
+        }
+        afterCommit(() -> counters.get(status).addAndGet(-count));
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
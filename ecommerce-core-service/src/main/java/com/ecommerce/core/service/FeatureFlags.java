@@ -0,0 +1,260 @@
+package com.ecommerce.core.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+
+/**
+ * Feature flags that can be flipped without a restart. Every reload merges
+ * {@code feature.<name>.enabled} from the environment, the optional
+ * properties file at {@code feature.flags.file} ({@code name=true|false})
+ * and the {@code feature_flags} table, later sources winning. A changed
+ * result is published as a new immutable {@link Snapshot} through a volatile
+ * field, so readers never lock or allocate; an unchanged one keeps the
+ * current snapshot, its version and its ETag.
+ */
+@Component
+@Slf4j
+public class FeatureFlags {
+
+    /** Always present, so the frontend can rely on their keys */
+    private static final List<String> BUILT_IN = List.of("auth", "payment", "email", "sms", "storage");
+
+    private static final Pattern NAME = Pattern.compile("[a-z][a-zA-Z0-9]{0,49}");
+
+    /**
+     * One published set of flags, with the {@code GET /config/features} body
+     * serialized once and its ETag. Treat {@code json} as read-only.
+     */
+    public record Snapshot(long version, Map<String, Boolean> flags, Map<String, String> sources, byte[] json,
+            String etag, LocalDateTime publishedAt) {
+
+        public boolean isEnabled(String name) {
+            return Boolean.TRUE.equals(flags.get(name));
+        }
+    }
+
+    private final Environment environment;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${feature.flags.file:}")
+    private String file;
+
+    @Value("${feature.flags.table-enabled:true}")
+    private boolean tableEnabled;
+
+    private volatile Snapshot snapshot;
+
+    // Only touched under the reload lock
+    private long reloads;
+    private String lastError;
+    private FileStamp fileStamp;
+    private Map<String, Boolean> fileFlags = Map.of();
+
+    public FeatureFlags(Environment environment, JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        this.environment = environment;
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        reload();
+    }
+
+    public Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            reload();
+            current = snapshot;
+        }
+        return current;
+    }
+
+    public boolean isEnabled(String name) {
+        return snapshot().isEnabled(name);
+    }
+
+    /**
+     * Re-read every source and publish a new snapshot if any flag changed
+     *
+     * @return the current snapshot, new or not
+     */
+    @Scheduled(fixedDelayString = "${feature.flags.reload-interval-ms:5000}",
+            initialDelayString = "${feature.flags.reload-interval-ms:5000}")
+    public synchronized Snapshot reload() {
+        reloads++;
+        Map<String, Boolean> flags = new TreeMap<>();
+        Map<String, String> sources = new TreeMap<>();
+        for (String name : BUILT_IN) {
+            flags.put(name, environment.getProperty("feature." + name + ".enabled", Boolean.class, false));
+            sources.put(name, "properties");
+        }
+        String error = null;
+        try {
+            merge(flags, sources, readFile(), "file");
+        } catch (IOException | RuntimeException e) {
+            error = "Flags file " + file + ": " + e.getMessage();
+            merge(flags, sources, fileFlags, "file");
+        }
+        if (tableEnabled) {
+            try {
+                merge(flags, sources, readTable(), "table");
+            } catch (DataAccessException e) {
+                error = "Table feature_flags: " + e.getMostSpecificCause().getMessage();
+                Snapshot current = snapshot;
+                if (current != null) {
+                    // Keep what the table last said rather than flapping back to the defaults
+                    current.sources().forEach((name, source) -> {
+                        if ("table".equals(source)) {
+                            flags.put(name, current.flags().get(name));
+                            sources.put(name, source);
+                        }
+                    });
+                }
+            }
+        }
+        if (error != null && !error.equals(lastError)) {
+            log.warn("Feature flag reload kept previous values: {}", error);
+        }
+        lastError = error;
+        publishIfChanged(flags, sources);
+        return snapshot;
+    }
+
+    public Map<String, Object> toMap() {
+        Snapshot current = snapshot();
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("version", current.version());
+        map.put("etag", current.etag());
+        map.put("publishedAt", current.publishedAt().toString());
+        map.put("flags", current.flags());
+        map.put("sources", current.sources());
+        map.put("file", StringUtils.hasText(file) ? file : null);
+        map.put("tableEnabled", tableEnabled);
+        synchronized (this) {
+            map.put("reloads", reloads);
+            map.put("lastError", lastError);
+        }
+        return map;
+    }
+
+    private void publishIfChanged(Map<String, Boolean> flags, Map<String, String> sources) {
+        Snapshot current = snapshot;
+        if (current != null && current.flags().equals(flags) && current.sources().equals(sources)) {
+            return;
+        }
+        Map<String, Boolean> body = new LinkedHashMap<>();
+        flags.forEach((name, enabled) -> body.put(name + "Enabled", enabled));
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize feature flags", e);
+        }
+        long version = current == null ? 1 : current.version() + 1;
+        snapshot = new Snapshot(version, Collections.unmodifiableMap(flags), Collections.unmodifiableMap(sources),
+                json, "\"" + DigestUtils.md5DigestAsHex(json) + "\"", LocalDateTime.now());
+        if (current == null) {
+            log.info("Feature flags loaded: {}", flags);
+        } else {
+            log.info("Feature flags changed (version {}): {} -> {}", version, current.flags(), flags);
+        }
+    }
+
+    private static void merge(Map<String, Boolean> flags, Map<String, String> sources,
+            Map<String, Boolean> overrides, String source) {
+        overrides.forEach((name, enabled) -> {
+            flags.put(name, enabled);
+            sources.put(name, source);
+        });
+    }
+
+    /**
+     * The flags file, re-parsed only when its modification time or size
+     * moves. A missing file means no overrides.
+     */
+    private Map<String, Boolean> readFile() throws IOException {
+        if (!StringUtils.hasText(file)) {
+            return Map.of();
+        }
+        Path path = Path.of(file);
+        FileStamp stamp;
+        try {
+            stamp = new FileStamp(Files.getLastModifiedTime(path).toMillis(), Files.size(path));
+        } catch (NoSuchFileException e) {
+            fileStamp = null;
+            fileFlags = Map.of();
+            return fileFlags;
+        }
+        if (stamp.equals(fileStamp)) {
+            return fileFlags;
+        }
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+        Map<String, Boolean> parsed = new TreeMap<>();
+        for (String key : properties.stringPropertyNames()) {
+            Boolean enabled = parse(key.trim(), properties.getProperty(key));
+            if (enabled != null) {
+                parsed.put(key.trim(), enabled);
+            }
+        }
+        fileStamp = stamp;
+        fileFlags = parsed;
+        return parsed;
+    }
+
+    private Map<String, Boolean> readTable() {
+        Map<String, Boolean> rows = new TreeMap<>();
+        jdbcTemplate.query("SELECT name, enabled FROM feature_flags", rs -> {
+            String name = rs.getString("name");
+            if (NAME.matcher(name).matches()) {
+                rows.put(name, rs.getBoolean("enabled"));
+            } else {
+                log.warn("Ignoring feature_flags row with invalid name '{}'", name);
+            }
+        });
+        return rows;
+    }
+
+    private static Boolean parse(String name, String value) {
+        String trimmed = Objects.requireNonNullElse(value, "").trim();
+        if (!NAME.matcher(name).matches() || !trimmed.equalsIgnoreCase("true") && !trimmed.equalsIgnoreCase("false")) {
+            log.warn("Ignoring feature flag '{}={}': names are camelCase and values true or false", name, value);
+            return null;
+        }
+        return Boolean.parseBoolean(trimmed);
+    }
+
+    private record FileStamp(long lastModifiedMillis, long size) {
+    }
+}
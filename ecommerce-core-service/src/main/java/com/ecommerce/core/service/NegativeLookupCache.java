@@ -0,0 +1,163 @@
+package com.ecommerce.core.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Remembers product and category ids that were just looked up and found
+ * missing or inactive, for {@code negative-cache.ttl-ms}, so repeated hits on
+ * stale URLs are answered without a query. Creates and reactivations forget
+ * the id after commit; the short TTL bounds staleness for changes made by
+ * other instances. Each map is capped at {@code negative-cache.max-entries}.
+ * <p>
+ * Every forget bumps a generation counter. A lookup takes the generation
+ * before it reads and its miss is only kept if no forget ran meanwhile, so a
+ * read that lost a race with a create cannot hide the new row for a TTL.
+ */
+@Component
+public class NegativeLookupCache {
+
+    @Value("${negative-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${negative-cache.ttl-ms:30000}")
+    private long ttlMs;
+
+    @Value("${negative-cache.max-entries:100000}")
+    private int maxEntries;
+
+    private final Map<Long, Long> missingProducts = new ConcurrentHashMap<>();
+    private final Map<Long, Long> missingCategories = new ConcurrentHashMap<>();
+    private final AtomicLong productGeneration = new AtomicLong();
+    private final AtomicLong categoryGeneration = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder recorded = new LongAdder();
+
+    public boolean isMissingProduct(Long id) {
+        return isMissing(missingProducts, id);
+    }
+
+    public boolean isMissingCategory(Long id) {
+        return isMissing(missingCategories, id);
+    }
+
+    /**
+     * Generation to pass to {@link #recordMissingProduct}; take it before the lookup reads
+     */
+    public long productGeneration() {
+        return productGeneration.get();
+    }
+
+    public long categoryGeneration() {
+        return categoryGeneration.get();
+    }
+
+    /**
+     * Record a miss found by a lookup that started at {@code generation}
+     */
+    public void recordMissingProduct(Long id, long generation) {
+        record(missingProducts, productGeneration, id, generation);
+    }
+
+    public void recordMissingCategory(Long id, long generation) {
+        record(missingCategories, categoryGeneration, id, generation);
+    }
+
+    /**
+     * Forget a product id once the current transaction commits
+     */
+    public void forgetProductAfterCommit(Long id) {
+        afterCommit(() -> forgetProduct(id));
+    }
+
+    public void forgetCategoryAfterCommit(Long id) {
+        afterCommit(() -> forgetCategory(id));
+    }
+
+    /** Forget an id seen active elsewhere (catalog catch-up) */
+    public void forgetProduct(Long id) {
+        forget(missingProducts, productGeneration, id);
+    }
+
+    public void forgetCategory(Long id) {
+        forget(missingCategories, categoryGeneration, id);
+    }
+
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("enabled", enabled);
+        map.put("ttlMs", ttlMs);
+        map.put("maxEntries", maxEntries);
+        map.put("products", missingProducts.size());
+        map.put("categories", missingCategories.size());
+        map.put("recorded", recorded.sum());
+        map.put("hits", hits.sum());
+        return map;
+    }
+
+    private boolean isMissing(Map<Long, Long> missing, Long id) {
+        if (!enabled || missing.isEmpty()) {
+            return false;
+        }
+        Long expiresAt = missing.get(id);
+        if (expiresAt == null) {
+            return false;
+        }
+        if (System.nanoTime() - expiresAt >= 0) {
+            missing.remove(id, expiresAt);
+            return false;
+        }
+        hits.increment();
+        return true;
+    }
+
+    private void record(Map<Long, Long> missing, AtomicLong generation, Long id, long readGeneration) {
+        if (!enabled || generation.get() != readGeneration) {
+            return;
+        }
+        long now = System.nanoTime();
+        if (missing.size() >= maxEntries) {
+            missing.values().removeIf(expiresAt -> now - expiresAt >= 0);
+            if (missing.size() >= maxEntries) {
+                // Still full of live entries: start over rather than grow
+                missing.clear();
+            }
+        }
+        long expiresAt = now + TimeUnit.MILLISECONDS.toNanos(ttlMs);
+        missing.put(id, expiresAt);
+        if (generation.get() != readGeneration) {
+            // A forget ran between the check and the put and may have missed this entry
+            missing.remove(id, expiresAt);
+            return;
+        }
+        recorded.increment();
+    }
+
+    private void forget(Map<Long, Long> missing, AtomicLong generation, Long id) {
+        // Bump first: a record that put before this remove re-checks the generation and undoes itself
+        generation.incrementAndGet();
+        missing.remove(id);
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
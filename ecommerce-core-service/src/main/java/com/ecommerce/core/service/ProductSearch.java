@@ -0,0 +1,247 @@
+package com.ecommerce.core.service;
+
+import com.ecommerce.core.exception.ValidationException;
+import com.ecommerce.core.model.Product;
+import com.ecommerce.core.repository.ProductRepository;
+import com.ecommerce.core.service.ProductSearchRanker.ScoredProduct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.MySQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Runs product searches against the backend chosen once from the datasource
+ * dialect. On MySQL the {@code ft_search} FULLTEXT index answers
+ * {@code MATCH ... AGAINST} in natural-language or boolean mode and supplies
+ * the relevance score. Other databases (H2, PostgreSQL) get a LIKE scan
+ * ranked by {@link ProductSearchRanker}, with boolean operators applied in
+ * memory. {@code search.full-text} ({@code auto}, {@code on}, {@code off})
+ * overrides the choice.
+ */
+@Component
+@Slf4j
+public class ProductSearch {
+
+    /** {@code +term} required, {@code -term} excluded, {@code "a phrase"}, {@code term*} prefix */
+    private static final Pattern BOOLEAN_TERM = Pattern.compile("([+-]?)[+-]*(\"[^\"]*\"|[^\\s\"]+)");
+
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}_]+");
+
+    /** InnoDB's built-in full-text stopword list (INFORMATION_SCHEMA.INNODB_FT_DEFAULT_STOPWORD) */
+    private static final Set<String> INNODB_STOPWORDS = Set.of("a", "about", "an", "are", "as", "at", "be", "by",
+            "com", "de", "en", "for", "from", "how", "i", "in", "is", "it", "la", "of", "on", "or", "that", "the",
+            "this", "to", "was", "what", "when", "where", "who", "will", "with", "und", "www");
+
+    /** InnoDB's default, used when the server setting cannot be read */
+    private static final int DEFAULT_MIN_TOKEN_SIZE = 3;
+
+    public enum Mode {
+        NATURAL, BOOLEAN;
+
+        public static Mode parse(String value) {
+            if (!StringUtils.hasText(value)) {
+                return NATURAL;
+            }
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new ValidationException("Search mode must be 'natural' or 'boolean'");
+            }
+        }
+    }
+
+    private final ProductRepository productRepository;
+    private final ProductSearchRanker ranker;
+    private final boolean fullText;
+    private final int minTokenSize;
+
+    public ProductSearch(ProductRepository productRepository, ProductSearchRanker ranker,
+            EntityManagerFactory entityManagerFactory, JdbcTemplate jdbcTemplate,
+            @Value("${search.full-text:auto}") String fullTextSetting) {
+        this.productRepository = productRepository;
+        this.ranker = ranker;
+        Dialect dialect = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect();
+        this.fullText = switch (fullTextSetting.trim().toLowerCase(Locale.ROOT)) {
+            case "on", "true" -> true;
+            case "off", "false" -> false;
+            default -> dialect instanceof MySQLDialect;
+        };
+        this.minTokenSize = fullText ? readMinTokenSize(jdbcTemplate) : DEFAULT_MIN_TOKEN_SIZE;
+        log.info("Product search uses {} ({})", fullText ? "the FULLTEXT index" : "LIKE scans",
+                dialect.getClass().getSimpleName());
+    }
+
+    public boolean isFullText() {
+        return fullText;
+    }
+
+    /**
+     * At most {@code limit} active products matching the query, most relevant
+     * first. Queries that the index cannot answer (only stopwords or words
+     * below {@code innodb_ft_min_token_size}) fall back to the LIKE scan, so
+     * short terms such as "tv" or "+tv" still match.
+     */
+    public List<ScoredProduct> search(String query, Mode mode, int limit) {
+        if (mode == Mode.BOOLEAN) {
+            List<Term> terms = parseBoolean(query);
+            if (terms.stream().noneMatch(term -> term.operator() != '-')) {
+                return List.of();
+            }
+            if (fullText && isIndexable(terms)) {
+                return fullText(toMySqlBoolean(terms), true, limit);
+            }
+            return likeBoolean(terms, limit);
+        }
+        if (fullText && isIndexable(query)) {
+            // The index can answer this query, so a miss is final instead of paying for a LIKE scan too
+            return fullText(query, false, limit);
+        }
+        return ranker.topK(productRepository.searchProducts(query), query, limit);
+    }
+
+    /**
+     * Whether the FULLTEXT index holds any word of the query: at least one
+     * token is neither a stopword nor shorter than the minimum token size
+     */
+    private boolean isIndexable(String query) {
+        for (String token : NON_WORD.split(query.toLowerCase(Locale.ROOT))) {
+            if (token.length() >= minTokenSize && !INNODB_STOPWORDS.contains(token)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Boolean-mode counterpart: every required term and at least one
+     * non-negated term must be in the index, since MATCH cannot find a
+     * required word it never indexed
+     */
+    private boolean isIndexable(List<Term> terms) {
+        boolean any = false;
+        for (Term term : terms) {
+            if (term.operator() == '-') {
+                continue;
+            }
+            boolean indexable = isIndexable(term.text());
+            if (term.operator() == '+' && !indexable) {
+                return false;
+            }
+            any |= indexable;
+        }
+        return any;
+    }
+
+    private static int readMinTokenSize(JdbcTemplate jdbcTemplate) {
+        try {
+            Integer size = jdbcTemplate.queryForObject("SELECT @@innodb_ft_min_token_size", Integer.class);
+            return size != null ? size : DEFAULT_MIN_TOKEN_SIZE;
+        } catch (DataAccessException e) {
+            log.warn("Could not read innodb_ft_min_token_size, assuming {}: {}", DEFAULT_MIN_TOKEN_SIZE, e.getMessage());
+            return DEFAULT_MIN_TOKEN_SIZE;
+        }
+    }
+
+    private List<ScoredProduct> fullText(String query, boolean booleanMode, int limit) {
+        List<ScoredProduct> matches = new ArrayList<>();
+        for (Object[] row : productRepository.searchFullText(query, booleanMode, limit)) {
+            matches.add(new ScoredProduct((Product) row[0], ((Number) row[1]).doubleValue()));
+        }
+        return matches;
+    }
+
+    /**
+     * LIKE-scan the longest positive term, then apply the operators and rank
+     */
+    private List<ScoredProduct> likeBoolean(List<Term> terms, int limit) {
+        String scanTerm = terms.stream()
+                .filter(term -> term.operator() != '-')
+                .map(Term::text)
+                .max(Comparator.comparingInt(String::length))
+                .orElseThrow();
+        List<Product> candidates = new ArrayList<>();
+        for (Product product : productRepository.searchProducts(scanTerm)) {
+            String text = (product.getName() + " " + product.getDescription()).toLowerCase(Locale.ROOT);
+            boolean matches = true;
+            for (Term term : terms) {
+                boolean contains = text.contains(term.text());
+                if (term.operator() == '+' && !contains || term.operator() == '-' && contains) {
+                    matches = false;
+                    break;
+                }
+            }
+            if (matches) {
+                candidates.add(product);
+            }
+        }
+        String rankQuery = String.join(" ", terms.stream()
+                .filter(term -> term.operator() != '-')
+                .map(Term::text)
+                .toList());
+        return ranker.topK(candidates, rankQuery, limit);
+    }
+
+    /**
+     * Split a boolean query into terms, dropping operators MySQL would reject
+     * (stacked {@code +-}, a {@code *} inside a word, unbalanced quotes)
+     */
+    private static List<Term> parseBoolean(String query) {
+        String normalized = query;
+        if (normalized.chars().filter(c -> c == '"').count() % 2 != 0) {
+            normalized = normalized.replace("\"", " ");
+        }
+        List<Term> terms = new ArrayList<>();
+        Matcher matcher = BOOLEAN_TERM.matcher(normalized);
+        while (matcher.find()) {
+            char operator = matcher.group(1).isEmpty() ? ' ' : matcher.group(1).charAt(0);
+            String token = matcher.group(2);
+            boolean phrase = token.startsWith("\"");
+            String text = (phrase ? token.substring(1, token.length() - 1) : token.replace("*", "").replaceAll("^[+-]+|[+-]+$", ""))
+                    .trim()
+                    .toLowerCase(Locale.ROOT);
+            boolean prefix = !phrase && token.endsWith("*");
+            if (!text.isEmpty()) {
+                terms.add(new Term(operator, text, phrase, prefix));
+            }
+        }
+        return terms;
+    }
+
+    private static String toMySqlBoolean(List<Term> terms) {
+        StringBuilder query = new StringBuilder();
+        for (Term term : terms) {
+            if (query.length() > 0) {
+                query.append(' ');
+            }
+            if (term.operator() != ' ') {
+                query.append(term.operator());
+            }
+            if (term.phrase()) {
+                query.append('"').append(term.text()).append('"');
+            } else {
+                query.append(term.text());
+                if (term.prefix()) {
+                    query.append('*');
+                }
+            }
+        }
+        return query.toString();
+    }
+
+    private record Term(char operator, String text, boolean phrase, boolean prefix) {
+    }
+}
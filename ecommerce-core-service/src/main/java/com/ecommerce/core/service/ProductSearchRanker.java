@@ -0,0 +1,123 @@
+package com.ecommerce.core.service;
+
+import com.ecommerce.core.model.Product;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.PriorityQueue;
+
+/**
+ * Scores search matches and selects the best K with a bounded min-heap, so
+ * broad queries cost O(n log k) instead of sorting every candidate.
+ */
+@Component
+public class ProductSearchRanker {
+
+    private static final double NAME_WEIGHT = 3.0;
+    private static final double DESCRIPTION_WEIGHT = 1.0;
+    private static final double NAME_PREFIX_BONUS = 2.0;
+    private static final double RATING_WEIGHT = 0.2;
+
+    private static final Comparator<ScoredProduct> BY_SCORE = Comparator
+            .comparingDouble(ScoredProduct::score)
+            .thenComparing(sp -> sp.product().getId(), Comparator.nullsFirst(Comparator.reverseOrder()));
+
+    /**
+     * Rank candidates against the query and return at most {@code limit}
+     * products with their scores, best first.
+     */
+    public List<ScoredProduct> topK(List<Product> candidates, String query, int limit) {
+        if (candidates == null || candidates.isEmpty() || limit <= 0) {
+            return Collections.emptyList();
+        }
+        String[] terms = tokenize(query);
+        if (terms.length == 0) {
+            return Collections.emptyList();
+        }
+
+        PriorityQueue<ScoredProduct> heap = new PriorityQueue<>(Math.min(limit, candidates.size()) + 1, BY_SCORE);
+        for (Product product : candidates) {
+            double score = score(product, terms);
+            if (score <= 0) {
+                continue;
+            }
+            if (heap.size() < limit) {
+                heap.offer(new ScoredProduct(product, score));
+            } else if (BY_SCORE.compare(new ScoredProduct(product, score), heap.peek()) > 0) {
+                heap.poll();
+                heap.offer(new ScoredProduct(product, score));
+            }
+        }
+
+        List<ScoredProduct> ranked = new ArrayList<>(heap.size());
+        while (!heap.isEmpty()) {
+            ranked.add(heap.poll());
+        }
+        Collections.reverse(ranked);
+        return ranked;
+    }
+
+    double score(Product product, String[] terms) {
+        String name = lower(product.getName());
+        String description = lower(product.getDescription());
+
+        double score = 0;
+        for (String term : terms) {
+            int nameHits = countOccurrences(name, term);
+            int descriptionHits = countOccurrences(description, term);
+            if (nameHits > 0) {
+                // Dampen term frequency so keyword-stuffed names don't dominate
+                score += NAME_WEIGHT * (1 + Math.log(nameHits));
+                if (name.startsWith(term)) {
+                    score += NAME_PREFIX_BONUS;
+                }
+            }
+            if (descriptionHits > 0) {
+                score += DESCRIPTION_WEIGHT * (1 + Math.log(descriptionHits));
+            }
+        }
+        if (score > 0 && product.getRating() != null) {
+            score += RATING_WEIGHT * product.getRating();
+        }
+        return score;
+    }
+
+    static String[] tokenize(String query) {
+        if (query == null) {
+            return new String[0];
+        }
+        return Arrays.stream(query.toLowerCase(Locale.ROOT).trim().split("\\s+"))
+                .filter(term -> !term.isEmpty())
+                .distinct()
+                .toArray(String[]::new);
+    }
+
+    private static String lower(String value) {
+        return value != null ? value.toLowerCase(Locale.ROOT) : "";
+    }
+
+    private static int countOccurrences(String text, String term) {
+        if (text.isEmpty()) {
+            return 0;
+        }
+        int count = 0;
+        int from = 0;
+        while ((from = text.indexOf(term, from)) >= 0) {
+            count++;
+            from += term.length();
+        }
+        return count;
+    }
+
+    /**
+     * A search match and its relevance; scores are only comparable within
+     * one result list
+     */
+    public record ScoredProduct(Product product, double score) {
+    }
+}
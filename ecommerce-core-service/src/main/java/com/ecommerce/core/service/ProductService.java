@@ -1,18 +1,33 @@
 package com.ecommerce.core.service;
 
 import com.ecommerce.core.dto.ProductDTO;
+import com.ecommerce.core.dto.ProductField;
+import com.ecommerce.core.dto.ProductSearchHitDTO;
+import com.ecommerce.core.dto.RelatedProductDTO;
+import com.ecommerce.core.dto.TrendingProductDTO;
+import com.ecommerce.core.exception.ConflictException;
 import com.ecommerce.core.exception.ResourceNotFoundException;
 import com.ecommerce.core.exception.ValidationException;
 import com.ecommerce.core.model.Product;
 import com.ecommerce.core.repository.ProductRepository;
+import com.ecommerce.core.service.ProductSearchRanker.ScoredProduct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -22,19 +37,78 @@ import java.util.stream.Collectors;
 public class ProductService {
 
     private final ProductRepository productRepository;
+    private final ProductSearch productSearch;
+    private final SingleFlight singleFlight;
+    private final CatalogView catalogView;
+    private final TrendingTracker trendingTracker;
+    private final RelatedProducts relatedProducts;
+    private final CategoryProductCounters categoryCounters;
+    private final CategoryTree categoryTree;
+    private final NegativeLookupCache negativeCache;
+
+    @Value("${search.default-limit:20}")
+    private int defaultSearchLimit;
+
+    @Value("${search.max-results:50}")
+    private int maxSearchResults;
+
+    @Value("${trending.max-results:50}")
+    private int maxTrendingResults;
+
+    @Value("${related.max-results:20}")
+    private int maxRelatedResults;
 
     public ProductDTO getProductById(Long id) {
+        return getProductById(id, null);
+    }
+
+    /**
+     * Get an active product; a {@code fields} selection reads only those
+     * columns. Served from the catalog snapshot when it has the product, in
+     * which case no transaction or connection is used.
+     */
+    @Coalesced
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public ProductDTO getProductById(Long id, String fields) {
         if (id == null || id <= 0) {
             throw new ValidationException("Product ID must be a positive number");
         }
         log.debug("Fetching product with id: {}", id);
+        long missGeneration = negativeCache.productGeneration();
+        Set<ProductField> selected = ProductField.parse(fields);
+        ProductDTO snapshot = catalogView.findProduct(id);
+        if (snapshot != null) {
+            return snapshot;
+        }
+        if (negativeCache.isMissingProduct(id)) {
+            throw new ResourceNotFoundException("Product not found with id: " + id);
+        }
+        if (!selected.isEmpty()) {
+            return findProjected(selected, id, null, null, null).stream()
+                    .findFirst()
+                    .orElseThrow(() -> missingProduct(id, missGeneration));
+        }
         Product product = productRepository.findByIdAndActiveTrue(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + id));
+                .orElseThrow(() -> missingProduct(id, missGeneration));
         return convertToDTO(product);
     }
 
+    private ResourceNotFoundException missingProduct(Long id, long generation) {
+        negativeCache.recordMissingProduct(id, generation);
+        return new ResourceNotFoundException("Product not found with id: " + id);
+    }
+
     public List<ProductDTO> getAllProducts() {
+        return getAllProducts(null);
+    }
+
+    @Coalesced
+    public List<ProductDTO> getAllProducts(String fields) {
         log.debug("Fetching all products");
+        Set<ProductField> selected = ProductField.parse(fields);
+        if (!selected.isEmpty()) {
+            return findProjected(selected, null, null, null, null);
+        }
         List<Product> products = productRepository.findByActiveTrue();
         if (products == null || products.isEmpty()) {
             log.info("No active products found");
@@ -46,10 +120,19 @@ public class ProductService {
     }
 
     public List<ProductDTO> getProductsByCategory(Long categoryId) {
+        return getProductsByCategory(categoryId, null);
+    }
+
+    @Coalesced
+    public List<ProductDTO> getProductsByCategory(Long categoryId, String fields) {
         if (categoryId == null || categoryId <= 0) {
             throw new ValidationException("Category ID must be a positive number");
         }
         log.debug("Fetching products for category: {}", categoryId);
+        Set<ProductField> selected = ProductField.parse(fields);
+        if (!selected.isEmpty()) {
+            return findProjected(selected, null, categoryId, null, null);
+        }
         List<Product> products = productRepository.findByCategoryIdAndActiveTrue(categoryId);
         if (products == null || products.isEmpty()) {
             log.info("No products found for category: {}", categoryId);
@@ -60,29 +143,105 @@ public class ProductService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Active products in a category and, with {@code includeSubcategories},
+     * in every category below it that the category tree shows (a deactivated
+     * category hides its branch): one query over the subtree's ids. The
+     * subtree query reads whole rows; {@code fields} is applied when the
+     * response is serialized.
+     */
+    @Coalesced
+    public List<ProductDTO> getProductsByCategory(Long categoryId, boolean includeSubcategories, String fields) {
+        if (!includeSubcategories) {
+            return getProductsByCategory(categoryId, fields);
+        }
+        if (categoryId == null || categoryId <= 0) {
+            throw new ValidationException("Category ID must be a positive number");
+        }
+        ProductField.parse(fields);
+        List<Long> categoryIds = categoryTree.activeSubtreeIds(categoryId);
+        if (categoryIds == null) {
+            // Not in the tree yet (created elsewhere moments ago), so it has no known children
+            return getProductsByCategory(categoryId, fields);
+        }
+        log.debug("Fetching products for category subtree of {}: {} categories", categoryId, categoryIds.size());
+        return productRepository.findActiveInCategories(categoryIds).stream()
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
+    }
+
     public List<ProductDTO> searchProducts(String query) {
-        log.debug("Searching products with query: {}", query);
-        // Handle empty or null query
+        return searchProducts(query, null, null);
+    }
+
+    public List<ProductDTO> searchProducts(String query, Integer limit, String fields) {
+        return searchProducts(query, null, limit, fields);
+    }
+
+    /**
+     * Search active products, ranked by relevance and capped at
+     * {@code search.max-results}. Ranking needs name and description, so a
+     * {@code fields} selection is only validated here and applied when the
+     * response is serialized.
+     */
+    @Coalesced
+    public List<ProductDTO> searchProducts(String query, String mode, Integer limit, String fields) {
+        ProductField.parse(fields);
+        // An empty query lists the newest active products, under the same cap as a ranked search
         if (!StringUtils.hasText(query)) {
-            log.info("Empty search query, returning all products");
-            return getAllProducts();
+            log.info("Empty search query, returning newest products");
+            return productRepository.findByActiveTrueOrderByIdDesc(PageRequest.of(0, searchLimit(limit))).stream()
+                    .map(this::convertToDTO)
+                    .collect(Collectors.toList());
         }
-        // Sanitize query - remove potential SQL injection characters
+        return rankedSearch(query, mode, limit).stream()
+                .map(ScoredProduct::product)
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Search with relevance scores: MySQL full-text relevance on MySQL, the
+     * in-process ranking score elsewhere
+     */
+    @Coalesced
+    public List<ProductSearchHitDTO> searchProductsWithScores(String query, String mode, Integer limit) {
+        if (!StringUtils.hasText(query)) {
+            throw new ValidationException("Search query is required");
+        }
+        return rankedSearch(query, mode, limit).stream()
+                .map(hit -> ProductSearchHitDTO.builder()
+                        .product(convertToDTO(hit.product()))
+                        .score(hit.score())
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    private List<ScoredProduct> rankedSearch(String query, String mode, Integer limit) {
+        ProductSearch.Mode searchMode = ProductSearch.Mode.parse(mode);
+        log.debug("Searching products with query: {}, mode: {}, limit: {}", query, searchMode, limit);
+        // Sanitize query - remove potential SQL injection characters; boolean mode keeps its + - " * operators
         String sanitizedQuery = query.trim()
-                .replaceAll("[<>\"'%;()&+]", "")
-                .substring(0, Math.min(query.length(), 200));
+                .replaceAll(searchMode == ProductSearch.Mode.BOOLEAN ? "[<>'%;()&~@]" : "[<>\"'%;()&+]", "");
+        sanitizedQuery = sanitizedQuery.substring(0, Math.min(sanitizedQuery.length(), 200));
 
-        List<Product> products = productRepository.searchProducts(sanitizedQuery);
-        if (products == null || products.isEmpty()) {
+        List<ScoredProduct> hits = productSearch.search(sanitizedQuery, searchMode, searchLimit(limit));
+        if (hits.isEmpty()) {
             log.info("No products found for query: {}", sanitizedQuery);
-            return Collections.emptyList();
         }
-        return products.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return hits;
+    }
+
+    private int searchLimit(Integer limit) {
+        return Math.max(1, Math.min(maxSearchResults, limit != null ? limit : defaultSearchLimit));
     }
 
     public List<ProductDTO> findByPriceRange(Double minPrice, Double maxPrice) {
+        return findByPriceRange(minPrice, maxPrice, null);
+    }
+
+    @Coalesced
+    public List<ProductDTO> findByPriceRange(Double minPrice, Double maxPrice, String fields) {
         // Validate and sanitize price range
         if (minPrice == null) {
             minPrice = 0.0;
@@ -105,6 +264,10 @@ public class ProductService {
         }
 
         log.debug("Fetching products in price range: {} - {}", minPrice, maxPrice);
+        Set<ProductField> selected = ProductField.parse(fields);
+        if (!selected.isEmpty()) {
+            return findProjected(selected, null, null, minPrice, maxPrice);
+        }
         List<Product> products = productRepository.findByPriceRange(minPrice, maxPrice);
         if (products == null || products.isEmpty()) {
             log.info("No products found in price range: {} - {}", minPrice, maxPrice);
@@ -115,6 +278,82 @@ public class ProductService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Record a product page view for the trending ranking; in memory only
+     */
+    public void recordView(Long id) {
+        trendingTracker.record(id);
+    }
+
+    /**
+     * Most viewed active products by time-decayed view count. Served from the
+     * catalog snapshot where possible, with one batched query for the rest.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public List<TrendingProductDTO> getTrendingProducts(Integer limit) {
+        int effectiveLimit = Math.max(1, Math.min(maxTrendingResults, limit != null ? limit : 10));
+        // Over-fetch a little so inactive or deleted products do not shorten the list
+        List<Map.Entry<Long, Long>> top = trendingTracker.top(effectiveLimit * 2);
+        Map<Long, ProductDTO> products = findActiveProducts(top);
+
+        return top.stream()
+                .filter(entry -> products.containsKey(entry.getKey()))
+                .limit(effectiveLimit)
+                .map(entry -> TrendingProductDTO.builder()
+                        .product(products.get(entry.getKey()))
+                        .score(entry.getValue())
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Products most often asked about by customers who also enquired about
+     * this one, from in-memory co-occurrence counts; the products themselves
+     * are resolved like {@link #getTrendingProducts}
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public List<RelatedProductDTO> getRelatedProducts(Long id, Integer limit) {
+        // 404 for unknown or inactive products rather than an empty list
+        getProductById(id);
+        int effectiveLimit = Math.max(1, Math.min(maxRelatedResults, limit != null ? limit : 10));
+        List<Map.Entry<Long, Long>> related = relatedProducts.related(id, effectiveLimit * 2);
+        Map<Long, ProductDTO> products = findActiveProducts(related);
+
+        return related.stream()
+                .filter(entry -> products.containsKey(entry.getKey()))
+                .limit(effectiveLimit)
+                .map(entry -> RelatedProductDTO.builder()
+                        .product(products.get(entry.getKey()))
+                        .customers(entry.getValue())
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Active products for the ranked ids, from the catalog snapshot where
+     * possible and one batched query for the rest
+     */
+    private Map<Long, ProductDTO> findActiveProducts(List<Map.Entry<Long, Long>> ranked) {
+        Map<Long, ProductDTO> products = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (Map.Entry<Long, Long> entry : ranked) {
+            ProductDTO product = catalogView.findProduct(entry.getKey());
+            if (product != null) {
+                products.put(entry.getKey(), product);
+            } else {
+                missing.add(entry.getKey());
+            }
+        }
+        if (!missing.isEmpty()) {
+            for (Product product : productRepository.findAllById(missing)) {
+                if (Boolean.TRUE.equals(product.getActive())) {
+                    products.put(product.getId(), convertToDTO(product));
+                }
+            }
+        }
+        return products;
+    }
+
     @Transactional
     public ProductDTO createProduct(ProductDTO productDTO) {
         validateProductDTO(productDTO);
@@ -131,8 +370,13 @@ public class ProductService {
                 .active(true)
                 .build();
         Product savedProduct = productRepository.save(product);
+        ProductDTO saved = convertToDTO(savedProduct);
+        singleFlight.invalidateAfterCommit();
+        catalogView.putProductAfterCommit(saved);
+        categoryCounters.recordAdded(saved.getCategoryId(), saved.getStock());
+        negativeCache.forgetProductAfterCommit(saved.getId());
         log.info("Created product with id: {}", savedProduct.getId());
-        return convertToDTO(savedProduct);
+        return saved;
     }
 
     @Transactional
@@ -141,25 +385,56 @@ public class ProductService {
             throw new ValidationException("Product ID must be a positive number");
         }
         validateProductDTO(productDTO);
+        if (productDTO.getVersion() == null) {
+            throw new ValidationException("Product version is required; send the version from the last read");
+        }
 
-        log.debug("Updating product with id: {}", id);
-        Product product = productRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + id));
-
-        product.setName(productDTO.getName().trim());
-        product.setDescription(
-                productDTO.getDescription() != null ? productDTO.getDescription().trim() : product.getDescription());
-        product.setPrice(productDTO.getPrice());
-        product.setCategoryId(productDTO.getCategoryId());
-        product.setImage(productDTO.getImage() != null ? productDTO.getImage().trim() : product.getImage());
-        product.setStock(productDTO.getStock() != null ? productDTO.getStock() : product.getStock());
+        log.debug("Updating product with id: {} (version {})", id, productDTO.getVersion());
+        Map<String, Object> assignments = new LinkedHashMap<>();
+        assignments.put("name", productDTO.getName().trim());
+        assignments.put("price", productDTO.getPrice());
+        assignments.put("categoryId", productDTO.getCategoryId());
+        if (productDTO.getDescription() != null) {
+            assignments.put("description", productDTO.getDescription().trim());
+        }
+        if (productDTO.getImage() != null) {
+            assignments.put("image", productDTO.getImage().trim());
+        }
+        if (productDTO.getStock() != null) {
+            assignments.put("stock", productDTO.getStock());
+        }
         if (productDTO.getRating() != null) {
-            product.setRating(Math.min(5.0, Math.max(0.0, productDTO.getRating())));
+            assignments.put("rating", Math.min(5.0, Math.max(0.0, productDTO.getRating())));
+        }
+
+        // A matching version means the row replaced is the one the view holds at that version
+        ProductDTO before = catalogView.findProductAtVersion(id, productDTO.getVersion());
+        int updated = productRepository.updateIfVersionMatches(id, productDTO.getVersion(), assignments);
+        if (updated == 0) {
+            if (!productRepository.existsById(id)) {
+                throw new ResourceNotFoundException("Product not found with id: " + id);
+            }
+            throw new ConflictException("Product " + id + " was modified by another request (expected version "
+                    + productDTO.getVersion() + "); reload and retry");
         }
 
-        Product updatedProduct = productRepository.save(product);
-        log.info("Updated product with id: {}", updatedProduct.getId());
-        return convertToDTO(updatedProduct);
+        Product updatedProduct = productRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + id));
+        ProductDTO result = convertToDTO(updatedProduct);
+        singleFlight.invalidateAfterCommit();
+        catalogView.putProductAfterCommit(result);
+        if (before != null) {
+            categoryCounters.recordChanged(before.getCategoryId(), before.getStock(),
+                    Boolean.TRUE.equals(before.getActive()), result.getCategoryId(), result.getStock(),
+                    Boolean.TRUE.equals(result.getActive()));
+        } else {
+            categoryCounters.markStale();
+        }
+        if (Boolean.TRUE.equals(result.getActive())) {
+            negativeCache.forgetProductAfterCommit(id);
+        }
+        log.info("Updated product with id: {} to version {}", id, updatedProduct.getVersion());
+        return result;
     }
 
     @Transactional
@@ -168,10 +443,15 @@ public class ProductService {
             throw new ValidationException("Product ID must be a positive number");
         }
         log.debug("Deleting product with id: {}", id);
-        Product product = productRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + id));
-        product.setActive(false);
-        productRepository.save(product);
+        LocalDateTime now = LocalDateTime.now();
+        if (productRepository.softDelete(id, now) == 0) {
+            throw new ResourceNotFoundException("Product not found with id: " + id);
+        }
+        // The UPDATE holds the row lock, so this reads exactly the row it deactivated
+        Object[] removed = productRepository.findCountingState(id).get(0);
+        singleFlight.invalidateAfterCommit();
+        catalogView.removeProductAfterCommit(id, (Long) removed[2], now);
+        categoryCounters.recordRemoved((Long) removed[0], (Integer) removed[1]);
         log.info("Soft deleted product with id: {}", id);
     }
 
@@ -199,22 +479,16 @@ public class ProductService {
         }
     }
 
+    private List<ProductDTO> findProjected(Set<ProductField> selected, Long id, Long categoryId,
+            Double minPrice, Double maxPrice) {
+        return productRepository
+                .findActiveProjection(ProductField.properties(selected), id, categoryId, minPrice, maxPrice)
+                .stream()
+                .map(tuple -> ProductField.toDTO(tuple, selected))
+                .collect(Collectors.toList());
+    }
+
     private ProductDTO convertToDTO(Product product) {
-        if (product == null) {
-            return null;
-        }
-        return ProductDTO.builder()
-                .id(product.getId())
-                .name(product.getName())
-                .description(product.getDescription())
-                .price(product.getPrice())
-                .categoryId(product.getCategoryId())
-                .image(product.getImage())
-                .stock(product.getStock())
-                .rating(product.getRating())
-                .active(product.getActive())
-                .createdAt(product.getCreatedAt())
-                .updatedAt(product.getUpdatedAt())
-                .build();
+        return product != null ? ProductDTO.fromEntity(product) : null;
     }
 }
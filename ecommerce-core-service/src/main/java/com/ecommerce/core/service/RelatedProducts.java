@@ -0,0 +1,500 @@
+package com.ecommerce.core.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/**
+ * "Customers also asked about": for each product, the products most often
+ * enquired about by the same email address. Each product has a sparse row
+ * of co-occurrence counts (distinct customers who asked about both) in
+ * open-addressing {@code long -> int} tables, pruned back to the
+ * {@code related.max-neighbors} strongest once they reach twice that, so a
+ * pair can lose its count and start again if it drops out. Answers come from
+ * memory and never touch the database.
+ * <p>
+ * At startup the rows are rebuilt from {@code enquiries} and
+ * {@code enquiries_archive}: one scan groups product ids by email, then
+ * {@code related.rebuild-threads} workers each build the rows of their own
+ * share of products. After that every committed enquiry with a product is
+ * added incrementally. Deleted enquiries keep their pairs until the next
+ * restart.
+ * <p>
+ * What each customer has asked about is kept in the same kind of primitive
+ * table, keyed by a 64-bit hash of the normalized (trimmed, lower-cased)
+ * email address, so no address strings are held.
+ */
+@Component
+@Slf4j
+public class RelatedProducts {
+
+    private static final long[] NONE = new long[0];
+
+    @Value("${related.enabled:true}")
+    private boolean enabled;
+
+    @Value("${related.max-neighbors:20}")
+    private int maxNeighbors;
+
+    @Value("${related.max-products-per-email:50}")
+    private int maxProductsPerEmail;
+
+    @Value("${related.rebuild-threads:0}")
+    private int rebuildThreads;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Guarded by lock
+    private LongTable<Row> rows = new LongTable<>();
+    private LongTable<long[]> askedByEmail = new LongTable<>();
+    private List<Asked> pending;
+
+    private final LongAdder recorded = new LongAdder();
+    private volatile long rebuildMs = -1;
+    private volatile long rebuiltEnquiries;
+
+    public RelatedProducts(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            rebuild();
+        } catch (DataAccessException | IllegalStateException e) {
+            // Start empty and keep learning from new enquiries
+            log.warn("Could not rebuild related products from enquiry history: {}", e.getMessage());
+            install(new LongTable<>(), new LongTable<>());
+        }
+    }
+
+    /**
+     * Count an enquiry once its transaction commits; enquiries without a
+     * product are ignored
+     */
+    public void record(String email, Long productId) {
+        if (!enabled || productId == null || !StringUtils.hasText(email)) {
+            return;
+        }
+        Asked asked = new Asked(emailKey(email), productId);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(asked);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply(asked);
+            }
+        });
+    }
+
+    /**
+     * Up to {@code limit} products asked about together with
+     * {@code productId}, with the number of customers who asked about both,
+     * strongest first
+     */
+    public List<Map.Entry<Long, Long>> related(long productId, int limit) {
+        long[] ranked;
+        lock.readLock().lock();
+        try {
+            Row row = rows.get(productId);
+            if (row == null) {
+                return List.of();
+            }
+            ranked = row.ranked(maxNeighbors);
+        } finally {
+            lock.readLock().unlock();
+        }
+        int size = Math.min(limit, ranked.length / 2);
+        List<Map.Entry<Long, Long>> related = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            related.add(Map.entry(ranked[2 * i], ranked[2 * i + 1]));
+        }
+        return related;
+    }
+
+    /**
+     * Replace the rows with a fresh build from enquiry history. Enquiries
+     * committed meanwhile are queued and replayed on top.
+     */
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            if (pending == null) {
+                pending = new ArrayList<>();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        long start = System.nanoTime();
+        LongTable<long[]> askedBy = new LongTable<>();
+        long[] enquiries = {0};
+        jdbcTemplate.query("SELECT email, product_id FROM enquiries WHERE product_id IS NOT NULL"
+                + " UNION ALL SELECT email, product_id FROM enquiries_archive WHERE product_id IS NOT NULL", rs -> {
+            enquiries[0]++;
+            long email = emailKey(rs.getString(1));
+            long productId = rs.getLong(2);
+            long[] asked = askedBy.getOrDefault(email, NONE);
+            if (!contains(asked, productId) && asked.length < maxProductsPerEmail) {
+                askedBy.put(email, append(asked, productId));
+            }
+        });
+
+        List<long[]> askedLists = new ArrayList<>(askedBy.size());
+        askedBy.forEach((email, asked) -> askedLists.add(asked));
+        LongTable<Row> built = buildInParallel(askedLists);
+        rebuildMs = (System.nanoTime() - start) / 1_000_000;
+        rebuiltEnquiries = enquiries[0];
+        int replayed = install(built, askedBy);
+        log.info("Related products rebuilt from {} enquiries by {} customers in {} ms ({} products, {} replayed)",
+                enquiries[0], askedBy.size(), rebuildMs, built.size(), replayed);
+    }
+
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("enabled", enabled);
+        map.put("maxNeighbors", maxNeighbors);
+        map.put("maxProductsPerEmail", maxProductsPerEmail);
+        lock.readLock().lock();
+        try {
+            map.put("products", rows.size());
+            map.put("customers", askedByEmail.size());
+            map.put("rebuilding", pending != null);
+        } finally {
+            lock.readLock().unlock();
+        }
+        map.put("rebuildMs", rebuildMs);
+        map.put("rebuiltFromEnquiries", rebuiltEnquiries);
+        map.put("enquiriesRecorded", recorded.sum());
+        return map;
+    }
+
+    private LongTable<Row> buildInParallel(Collection<long[]> askedLists) {
+        int workers = Math.max(1, rebuildThreads > 0 ? rebuildThreads : Runtime.getRuntime().availableProcessors());
+        List<long[]> lists = askedLists.stream().filter(asked -> asked.length > 1).toList();
+        if (workers == 1 || lists.size() < 1000) {
+            return buildShare(lists, 0, 1);
+        }
+        ExecutorService pool = Executors.newFixedThreadPool(workers, r -> {
+            Thread thread = new Thread(r, "related-rebuild");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Callable<LongTable<Row>>> shares = new ArrayList<>(workers);
+            for (int w = 0; w < workers; w++) {
+                int share = w;
+                shares.add(() -> buildShare(lists, share, workers));
+            }
+            LongTable<Row> merged = new LongTable<>();
+            for (Future<LongTable<Row>> share : pool.invokeAll(shares)) {
+                // Shares own disjoint products, so merging is just moving rows across
+                share.get().forEach(merged::put);
+            }
+            return merged;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Related products rebuild interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Related products rebuild failed", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Rows of the products that hash to {@code share}; no other worker writes them
+     */
+    private LongTable<Row> buildShare(List<long[]> lists, int share, int shares) {
+        LongTable<Row> index = new LongTable<>();
+        for (long[] asked : lists) {
+            for (long productId : asked) {
+                if (shares > 1 && Math.floorMod(LongTable.mix(productId) >>> 32, shares) != share) {
+                    continue;
+                }
+                Row row = index.getOrCreate(productId, Row::new);
+                for (long other : asked) {
+                    if (other != productId) {
+                        row.increment(other, maxNeighbors);
+                    }
+                }
+            }
+        }
+        return index;
+    }
+
+    private int install(LongTable<Row> built, LongTable<long[]> askedBy) {
+        lock.writeLock().lock();
+        try {
+            rows = built;
+            askedByEmail = askedBy;
+            List<Asked> queued = pending == null ? List.of() : pending;
+            pending = null;
+            // History may already hold some of these; apply skips pairs an email has counted
+            for (Asked asked : queued) {
+                applyLocked(asked);
+            }
+            return queued.size();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void apply(Asked asked) {
+        recorded.increment();
+        lock.writeLock().lock();
+        try {
+            if (pending != null) {
+                pending.add(asked);
+                return;
+            }
+            applyLocked(asked);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Caller holds the write lock
+    private void applyLocked(Asked enquiry) {
+        long productId = enquiry.productId();
+        long[] asked = askedByEmail.getOrDefault(enquiry.email(), NONE);
+        if (contains(asked, productId) || asked.length >= maxProductsPerEmail) {
+            return;
+        }
+        for (long other : asked) {
+            rows.getOrCreate(productId, Row::new).increment(other, maxNeighbors);
+            rows.getOrCreate(other, Row::new).increment(productId, maxNeighbors);
+        }
+        askedByEmail.put(enquiry.email(), append(asked, productId));
+    }
+
+    /**
+     * 64-bit FNV-1a hash of the trimmed, lower-cased address; collisions
+     * are rare enough at catalog scale to only blur two customers' pairs
+     */
+    private static long emailKey(String email) {
+        String normalized = email.trim().toLowerCase(Locale.ROOT);
+        long hash = 0xCBF29CE484222325L;
+        for (int i = 0; i < normalized.length(); i++) {
+            hash ^= normalized.charAt(i);
+            hash *= 0x100000001B3L;
+        }
+        return hash;
+    }
+
+    private static boolean contains(long[] values, long value) {
+        for (long v : values) {
+            if (v == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long[] append(long[] values, long value) {
+        long[] grown = Arrays.copyOf(values, values.length + 1);
+        grown[values.length] = value;
+        return grown;
+    }
+
+    private record Asked(long email, long productId) {
+    }
+
+    /**
+     * Open-addressing {@code long -> V} table (linear probing, no removal)
+     */
+    private static final class LongTable<V> {
+
+        private long[] keys = new long[64];
+        private Object[] values = new Object[64];
+        private int size;
+
+        static long mix(long key) {
+            long h = key * 0x9E3779B97F4A7C15L;
+            return h ^ (h >>> 29);
+        }
+
+        int size() {
+            return size;
+        }
+
+        @SuppressWarnings("unchecked")
+        V get(long key) {
+            int mask = keys.length - 1;
+            for (int i = (int) mix(key) & mask; values[i] != null; i = (i + 1) & mask) {
+                if (keys[i] == key) {
+                    return (V) values[i];
+                }
+            }
+            return null;
+        }
+
+        V getOrDefault(long key, V fallback) {
+            V value = get(key);
+            return value != null ? value : fallback;
+        }
+
+        V getOrCreate(long key, Supplier<V> factory) {
+            V value = get(key);
+            if (value == null) {
+                value = factory.get();
+                put(key, value);
+            }
+            return value;
+        }
+
+        void put(long key, V value) {
+            if (2 * (size + 1) > keys.length) {
+                resize(keys.length * 2);
+            }
+            int mask = keys.length - 1;
+            int i = (int) mix(key) & mask;
+            while (values[i] != null && keys[i] != key) {
+                i = (i + 1) & mask;
+            }
+            if (values[i] == null) {
+                size++;
+            }
+            keys[i] = key;
+            values[i] = value;
+        }
+
+        @SuppressWarnings("unchecked")
+        void forEach(BiConsumer<Long, V> action) {
+            for (int i = 0; i < keys.length; i++) {
+                if (values[i] != null) {
+                    action.accept(keys[i], (V) values[i]);
+                }
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private void resize(int capacity) {
+            long[] oldKeys = keys;
+            Object[] oldValues = values;
+            keys = new long[capacity];
+            values = new Object[capacity];
+            size = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldValues[i] != null) {
+                    put(oldKeys[i], (V) oldValues[i]);
+                }
+            }
+        }
+    }
+
+    /**
+     * One product's co-occurrence counts: an open-addressing
+     * {@code long -> int} table (count 0 marks a free slot) plus the ranked
+     * top entries, cached until the next write
+     */
+    private static final class Row {
+
+        private long[] keys = new long[8];
+        private int[] counts = new int[8];
+        private int size;
+        private volatile long[] ranked;
+
+        void increment(long key, int maxNeighbors) {
+            ranked = null;
+            int mask = keys.length - 1;
+            int i = (int) LongTable.mix(key) & mask;
+            while (counts[i] != 0) {
+                if (keys[i] == key) {
+                    counts[i]++;
+                    return;
+                }
+                i = (i + 1) & mask;
+            }
+            keys[i] = key;
+            counts[i] = 1;
+            size++;
+            if (size >= 2 * Math.max(1, maxNeighbors)) {
+                rebuild(top(maxNeighbors));
+            } else if (2 * size > keys.length) {
+                rebuild(top(size));
+            }
+        }
+
+        /**
+         * {@code [id, count, id, count, ...]}, highest count first, then lowest id
+         */
+        long[] ranked(int maxNeighbors) {
+            long[] cached = ranked;
+            if (cached == null) {
+                // Readers share the read lock, so racing builds produce equal arrays
+                cached = top(maxNeighbors);
+                ranked = cached;
+            }
+            return cached;
+        }
+
+        private long[] top(int limit) {
+            long[][] entries = new long[size][];
+            int n = 0;
+            for (int i = 0; i < keys.length; i++) {
+                if (counts[i] != 0) {
+                    entries[n++] = new long[] {keys[i], counts[i]};
+                }
+            }
+            Arrays.sort(entries, (a, b) -> a[1] != b[1] ? Long.compare(b[1], a[1]) : Long.compare(a[0], b[0]));
+            int kept = Math.min(limit, n);
+            long[] top = new long[2 * kept];
+            for (int i = 0; i < kept; i++) {
+                top[2 * i] = entries[i][0];
+                top[2 * i + 1] = entries[i][1];
+            }
+            return top;
+        }
+
+        private void rebuild(long[] entries) {
+            int capacity = 8;
+            while (capacity < 2 * entries.length) {
+                capacity <<= 1;
+            }
+            keys = new long[capacity];
+            counts = new int[capacity];
+            size = 0;
+            int mask = capacity - 1;
+            for (int e = 0; e < entries.length; e += 2) {
+                int i = (int) LongTable.mix(entries[e]) & mask;
+                while (counts[i] != 0) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = entries[e];
+                counts[i] = (int) entries[e + 1];
+                size++;
+            }
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.ecommerce.core.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Request coalescing for {@link Coalesced} reads. The first caller for a key
+ * runs the method; identical calls arriving while it is in flight wait for
+ * and share its result (or exception). Nothing is kept once the call
+ * returns, so this never serves data older than one in-flight query.
+ * Followers wait at most {@code coalescing.max-wait-ms} and then run the
+ * call themselves.
+ * <p>
+ * Ordered ahead of the transaction interceptor, so waiting followers do not
+ * hold a transaction or pool connection.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+@Slf4j
+public class SingleFlight {
+
+    @Value("${coalescing.enabled:true}")
+    private boolean enabled;
+
+    @Value("${coalescing.max-wait-ms:2000}")
+    private long maxWaitMs;
+
+    private final Map<FlightKey, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, Stats> stats = new ConcurrentHashMap<>();
+
+    @Around("@annotation(com.ecommerce.core.service.Coalesced)")
+    public Object coalesce(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (!enabled) {
+            return joinPoint.proceed();
+        }
+        String name = joinPoint.getSignature().getDeclaringType().getSimpleName() + "."
+                + joinPoint.getSignature().getName();
+        FlightKey key = new FlightKey(name, Arrays.asList(joinPoint.getArgs()));
+        Stats methodStats = stats.computeIfAbsent(name, n -> new Stats());
+
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, flight);
+        if (existing == null) {
+            methodStats.executions.increment();
+            try {
+                Object result = joinPoint.proceed();
+                flight.complete(result);
+                return result;
+            } catch (Throwable t) {
+                flight.completeExceptionally(t);
+                throw t;
+            } finally {
+                inFlight.remove(key, flight);
+            }
+        }
+
+        methodStats.coalesced.increment();
+        try {
+            return existing.get(maxWaitMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            throw e.getCause();
+        } catch (TimeoutException e) {
+            methodStats.timeouts.increment();
+            log.debug("Coalesced {} waited {} ms, running it directly", name, maxWaitMs);
+            return joinPoint.proceed();
+        }
+    }
+
+    /**
+     * Detach all in-flight calls once the current transaction commits, so
+     * reads starting after a write never join a query that began before it
+     */
+    public void invalidateAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            inFlight.clear();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                inFlight.clear();
+            }
+        });
+    }
+
+    public Map<String, Object> toMap() {
+        Map<String, Object> methods = new TreeMap<>();
+        long executions = 0;
+        long coalesced = 0;
+        for (Map.Entry<String, Stats> entry : stats.entrySet()) {
+            Stats s = entry.getValue();
+            executions += s.executions.sum();
+            coalesced += s.coalesced.sum();
+            methods.put(entry.getKey(), s.toMap());
+        }
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("enabled", enabled);
+        map.put("maxWaitMs", maxWaitMs);
+        map.put("inFlight", inFlight.size());
+        map.put("executions", executions);
+        map.put("coalesced", coalesced);
+        map.put("methods", methods);
+        return map;
+    }
+
+    private record FlightKey(String method, List<Object> args) {
+    }
+
+    private static final class Stats {
+        private final LongAdder executions = new LongAdder();
+        private final LongAdder coalesced = new LongAdder();
+        private final LongAdder timeouts = new LongAdder();
+
+        Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("executions", executions.sum());
+            map.put("coalesced", coalesced.sum());
+            map.put("waitTimeouts", timeouts.sum());
+            return map;
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.ecommerce.core.service;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-process product view popularity. Views go into a count-min sketch
+ * (fixed {@code depth x width} atomic counters) whose cells are halved
+ * every {@code trending.decay-interval-ms}, so older views fade out
+ * exponentially. A bounded candidate set tracks the heavy hitters: ids are
+ * admitted once their estimate reaches the current floor and the set is
+ * pruned back to {@code trending.capacity} by whoever wins a tryLock, so
+ * recording a view never blocks and never touches the database.
+ */
+@Component
+public class TrendingTracker {
+
+    private static final long[] SEEDS = {
+            0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0xD6E8FEB86659FD93L,
+            0xFF51AFD7ED558CCDL, 0xC4CEB9FE1A85EC53L, 0x94D049BB133111EBL, 0xBF58476D1CE4E5B9L };
+
+    @Value("${trending.enabled:true}")
+    private boolean enabled;
+
+    @Value("${trending.sketch-width:4096}")
+    private int width;
+
+    @Value("${trending.sketch-depth:4}")
+    private int depth;
+
+    @Value("${trending.capacity:100}")
+    private int capacity;
+
+    private AtomicLongArray counters;
+    private int mask;
+    private final Set<Long> candidates = ConcurrentHashMap.newKeySet();
+    private final ReentrantLock pruneLock = new ReentrantLock();
+    private volatile long admissionFloor = 1;
+    private final LongAdder views = new LongAdder();
+
+    @PostConstruct
+    void init() {
+        // Power-of-two width so the column is a mask, depth bounded by the seed table
+        width = Integer.highestOneBit(Math.max(63, width - 1) << 1);
+        mask = width - 1;
+        depth = Math.max(1, Math.min(SEEDS.length, depth));
+        counters = new AtomicLongArray(width * depth);
+        capacity = Math.max(1, capacity);
+    }
+
+    /**
+     * Count one view of a product
+     */
+    public void record(long productId) {
+        if (!enabled) {
+            return;
+        }
+        views.increment();
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters.incrementAndGet(cell(row, productId)));
+        }
+        if (estimate < admissionFloor || candidates.contains(productId)) {
+            return;
+        }
+        candidates.add(productId);
+        if (candidates.size() > 2 * capacity && pruneLock.tryLock()) {
+            try {
+                prune();
+            } finally {
+                pruneLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Decayed view count estimate; may overcount on collisions, never undercounts
+     */
+    public long estimate(long productId) {
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters.get(cell(row, productId)));
+        }
+        return estimate;
+    }
+
+    /**
+     * The {@code limit} most viewed product ids with their scores, highest first
+     */
+    public List<Map.Entry<Long, Long>> top(int limit) {
+        List<Map.Entry<Long, Long>> ranked = new ArrayList<>(candidates.size());
+        for (Long id : candidates) {
+            long score = estimate(id);
+            if (score > 0) {
+                ranked.add(Map.entry(id, score));
+            }
+        }
+        ranked.sort(Map.Entry.<Long, Long>comparingByValue(Comparator.reverseOrder())
+                .thenComparing(Map.Entry.comparingByKey()));
+        return ranked.subList(0, Math.min(limit, ranked.size()));
+    }
+
+    /**
+     * Halve every counter; runs concurrently with {@link #record}
+     */
+    @Scheduled(fixedDelayString = "${trending.decay-interval-ms:300000}", initialDelayString = "${trending.decay-interval-ms:300000}")
+    public void decay() {
+        for (int i = 0; i < counters.length(); i++) {
+            if (counters.get(i) != 0) {
+                counters.getAndUpdate(i, value -> value >>> 1);
+            }
+        }
+        pruneLock.lock();
+        try {
+            candidates.removeIf(id -> estimate(id) == 0);
+            prune();
+        } finally {
+            pruneLock.unlock();
+        }
+    }
+
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("enabled", enabled);
+        map.put("sketchWidth", width);
+        map.put("sketchDepth", depth);
+        map.put("capacity", capacity);
+        map.put("candidates", candidates.size());
+        map.put("admissionFloor", admissionFloor);
+        map.put("viewsRecorded", views.sum());
+        return map;
+    }
+
+    // Caller holds pruneLock
+    private void prune() {
+        List<Map.Entry<Long, Long>> ranked = top(Integer.MAX_VALUE);
+        if (ranked.size() < capacity) {
+            admissionFloor = 1;
+            return;
+        }
+        for (Map.Entry<Long, Long> dropped : ranked.subList(capacity, ranked.size())) {
+            candidates.remove(dropped.getKey());
+        }
+        // Newcomers must at least match the weakest kept id to get in
+        admissionFloor = Math.max(1, ranked.get(capacity - 1).getValue());
+    }
+
+    private int cell(int row, long productId) {
+        long h = productId * SEEDS[row];
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        return row * width + (int) (h & mask);
+    }
+}
@@ -0,0 +1,211 @@
+package com.ecommerce.core.service;
+
+import com.ecommerce.core.dto.CategoryDTO;
+import com.ecommerce.core.dto.ProductDTO;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Service;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Warms a fresh instance before it takes traffic: loads the category and
+ * active-product reads (filling DB buffers and Hibernate metadata), then
+ * replays the main read endpoints over loopback HTTP so Tomcat, Spring MVC,
+ * Jackson and the services get JIT-compiled. Runs inside the
+ * ApplicationReadyEvent, so Spring Boot only switches readiness to
+ * ACCEPTING_TRAFFIC once it is done. Only GET requests are replayed, each
+ * carrying {@link #WARMUP_HEADER} so they are not counted as real views.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class WarmupService {
+
+    /** Set on replayed requests; its value is a per-instance token so clients cannot forge it */
+    public static final String WARMUP_HEADER = "X-Warmup";
+
+    private final CategoryService categoryService;
+    private final ProductService productService;
+    private final ApplicationAvailability availability;
+    private final Environment environment;
+
+    @Value("${warmup.enabled:true}")
+    private boolean enabled;
+
+    @Value("${warmup.iterations:200}")
+    private int iterations;
+
+    @Value("${warmup.threads:4}")
+    private int threads;
+
+    @Value("${warmup.max-duration-ms:20000}")
+    private long maxDurationMs;
+
+    @Value("${server.servlet.context-path:}")
+    private String contextPath;
+
+    private volatile boolean complete;
+    private volatile long durationMs;
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final String token = UUID.randomUUID().toString();
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void warmUp() {
+        if (!enabled) {
+            complete = true;
+            return;
+        }
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(maxDurationMs);
+        try {
+            List<String> paths = loadData();
+            String port = environment.getProperty("local.server.port");
+            if (port != null && !paths.isEmpty()) {
+                replay("http://localhost:" + port + contextPath, paths, deadline);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            // A failed warm-up only costs latency; never keep the instance out of rotation for it
+            log.warn("Warm-up failed, continuing cold: {}", e.getMessage());
+        } finally {
+            durationMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            complete = true;
+            log.info("Warm-up finished in {} ms ({} requests, {} failed)", durationMs, requests.get(),
+                    failures.get());
+        }
+    }
+
+    /**
+     * Ready once warm-up has finished and Spring Boot accepts traffic
+     */
+    public boolean isReady() {
+        return complete && availability.getReadinessState() == ReadinessState.ACCEPTING_TRAFFIC;
+    }
+
+    /**
+     * Whether a request carried this instance's warm-up marker, i.e. is replayed
+     * traffic that must not seed the trending ranking
+     */
+    public boolean isWarmupRequest(String warmupHeader) {
+        return token.equals(warmupHeader);
+    }
+
+    public Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("ready", isReady());
+        status.put("warmupComplete", complete);
+        status.put("warmupDurationMs", complete ? durationMs : null);
+        status.put("warmupRequests", requests.get());
+        status.put("warmupFailures", failures.get());
+        return status;
+    }
+
+    /**
+     * Preload the public catalog reads and derive the request paths to replay
+     */
+    private List<String> loadData() {
+        List<CategoryDTO> categories = categoryService.getAllCategories();
+        List<ProductDTO> products = productService.getAllProducts();
+        log.info("Warm-up loaded {} categories and {} active products", categories.size(), products.size());
+
+        List<String> paths = new ArrayList<>();
+        paths.add("/categories");
+        paths.add("/products");
+        paths.add("/products?fields=id,name,price,image,rating");
+        paths.add("/products/price-range?minPrice=0&maxPrice=100");
+        paths.add("/enquiries/slice?size=10");
+        paths.add("/enquiries/counts");
+        if (!categories.isEmpty()) {
+            paths.add("/categories/" + categories.get(0).getId());
+            paths.add("/products/category/" + categories.get(0).getId());
+        }
+        if (!products.isEmpty()) {
+            ProductDTO product = products.get(0);
+            paths.add("/products/" + product.getId());
+            String term = product.getName().split("\\s+")[0];
+            paths.add("/products/search?q=" + URLEncoder.encode(term, StandardCharsets.UTF_8));
+        }
+        return paths;
+    }
+
+    private void replay(String baseUrl, List<String> paths, long deadline) throws InterruptedException {
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(2))
+                .build();
+        AtomicInteger round = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, threads), r -> {
+            Thread thread = new Thread(r, "warmup");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            for (int t = 0; t < Math.max(1, threads); t++) {
+                pool.execute(() -> {
+                    while (round.getAndIncrement() < iterations && System.nanoTime() < deadline
+                            && !Thread.currentThread().isInterrupted()) {
+                        for (String path : paths) {
+                            send(client, baseUrl + path);
+                        }
+                    }
+                });
+            }
+            pool.shutdown();
+            long remaining = deadline - System.nanoTime();
+            if (!pool.awaitTermination(Math.max(0, remaining), TimeUnit.NANOSECONDS)) {
+                log.info("Warm-up reached its {} ms limit", maxDurationMs);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private void send(HttpClient client, String url) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                .timeout(Duration.ofSeconds(10))
+                .header("Accept", "application/json")
+                .header(WARMUP_HEADER, token)
+                .GET()
+                .build();
+        try {
+            int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            requests.incrementAndGet();
+            if (status >= 400) {
+                failures.incrementAndGet();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            requests.incrementAndGet();
+            failures.incrementAndGet();
+        }
+    }
+}
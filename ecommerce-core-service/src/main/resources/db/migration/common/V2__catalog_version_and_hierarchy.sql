@@ -0,0 +1,10 @@
+-- Optimistic locking for product writes and the category hierarchy.
+-- path is the materialized list of ancestor ids (/3/17/42/); existing rows
+-- are all top-level and get their path from CategoryTree at startup.
+
+ALTER TABLE products ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE categories ADD COLUMN parent_id BIGINT;
+ALTER TABLE categories ADD COLUMN path VARCHAR(255);
+CREATE INDEX idx_category_parent ON categories (parent_id);
+CREATE INDEX idx_category_path ON categories (path);
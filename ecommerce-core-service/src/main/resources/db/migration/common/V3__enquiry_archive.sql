@@ -0,0 +1,16 @@
+-- RESOLVED enquiries moved out of enquiries by the archival job
+
+CREATE TABLE enquiries_archive (
+    id BIGINT PRIMARY KEY,
+    name VARCHAR(100) NOT NULL,
+    email VARCHAR(100) NOT NULL,
+    phone VARCHAR(20) NOT NULL,
+    message TEXT,
+    product_id BIGINT,
+    status ENUM('PENDING', 'REVIEWED', 'RESOLVED') NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL,
+    archived_at TIMESTAMP NOT NULL,
+    INDEX idx_archive_created (created_at DESC, id DESC),
+    INDEX idx_archive_email (email)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
@@ -0,0 +1,26 @@
+-- Composite indexes shaped after the repository queries: equality columns
+-- first, then the range or ORDER BY column, so each listing reads one index
+-- range in order instead of filtering and sorting the table.
+
+-- Category listings and subtree lookups (active, category_id); stock makes the
+-- per-category count/stock GROUP BY an index-only scan
+CREATE INDEX idx_product_active_category ON products (active, category_id, stock);
+
+-- Price range filter on active products
+CREATE INDEX idx_product_active_price ON products (active, price);
+
+-- Catalog snapshot catch-up (updated_at >= watermark)
+CREATE INDEX idx_product_updated ON products (updated_at);
+CREATE INDEX idx_category_updated ON categories (updated_at);
+
+-- Enquiry listings, newest first: all, by status, by email (keyset on created_at, id).
+-- Descending so the ORDER BY ... DESC reads the index forward on every engine.
+CREATE INDEX idx_enquiry_created ON enquiries (created_at DESC, id DESC);
+CREATE INDEX idx_enquiry_status_created ON enquiries (status, created_at DESC, id DESC);
+CREATE INDEX idx_enquiry_email_created ON enquiries (email, created_at DESC, id DESC);
+
+-- Archival scan: RESOLVED enquiries last updated before the cutoff
+CREATE INDEX idx_enquiry_status_updated ON enquiries (status, updated_at);
+
+-- Archive listings by status, newest first
+CREATE INDEX idx_archive_status_created ON enquiries_archive (status, created_at DESC, id DESC);
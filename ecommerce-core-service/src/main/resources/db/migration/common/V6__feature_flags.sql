@@ -0,0 +1,9 @@
+-- Runtime feature flag overrides, polled by FeatureFlags every
+-- feature.flags.reload-interval-ms. A row here wins over the flags file and
+-- feature.<name>.enabled in application.yml; delete it to fall back.
+
+CREATE TABLE feature_flags (
+    name VARCHAR(50) PRIMARY KEY,
+    enabled BOOLEAN NOT NULL,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
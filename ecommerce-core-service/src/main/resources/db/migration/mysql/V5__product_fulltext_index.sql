@@ -0,0 +1,11 @@
+-- FULLTEXT index behind MATCH ... AGAINST product search (MySQL only).
+-- Databases set up from the old database-schema.sql already have it, so it
+-- is only created when missing.
+SET @ddl = IF(
+    (SELECT COUNT(*) FROM information_schema.statistics
+     WHERE table_schema = DATABASE() AND table_name = 'products' AND index_name = 'ft_search') = 0,
+    'CREATE FULLTEXT INDEX ft_search ON products (name, description)',
+    'DO 0');
+PREPARE create_ft_search FROM @ddl;
+EXECUTE create_ft_search;
+DEALLOCATE PREPARE create_ft_search;
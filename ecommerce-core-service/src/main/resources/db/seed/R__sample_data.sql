@@ -1,5 +1,6 @@
 -- Seed Data for E-Commerce Platform
--- This file is automatically loaded by Spring Boot
+-- Repeatable Flyway migration (MySQL syntax), applied after the schema migrations
+-- outside the prod profile and re-applied when this file changes
 
 -- Insert Categories (only if not exists)
 INSERT IGNORE INTO categories (name, description, image, active) VALUES
@@ -0,0 +1,156 @@
+package com.ecommerce.core.benchmark;
+
+import com.ecommerce.core.dto.CategoryDTO;
+import com.ecommerce.core.dto.EnquiryDTO;
+import com.ecommerce.core.dto.ProductDTO;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Payload size and encode/decode time of JSON vs. CBOR vs. Smile for the
+ * catalog DTOs. Not a unit test; run with:
+ *
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.ecommerce.core.benchmark.SerializationBenchmark [-Dexec.args="1000 200"]
+ * </pre>
+ *
+ * Arguments: number of items per payload (default 500), timed iterations (default 200).
+ */
+public class SerializationBenchmark {
+
+    private static final int WARMUP_ITERATIONS = 100;
+
+    public static void main(String[] args) throws Exception {
+        int items = args.length > 0 ? Integer.parseInt(args[0]) : 500;
+        int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+
+        Random random = new Random(42);
+        List<ProductDTO> products = new ArrayList<>(items);
+        List<CategoryDTO> categories = new ArrayList<>();
+        List<EnquiryDTO> enquiries = new ArrayList<>(items);
+        LocalDateTime now = LocalDateTime.of(2024, 1, 1, 12, 0);
+        for (int i = 1; i <= items; i++) {
+            products.add(ProductDTO.builder()
+                    .id((long) i)
+                    .name("Product " + i)
+                    .description(text(random, 40 + random.nextInt(60)))
+                    .price(Math.round(random.nextDouble() * 100_000) / 100.0)
+                    .categoryId((long) (1 + random.nextInt(20)))
+                    .image("https://images.example.com/products/" + i + ".jpg")
+                    .stock(random.nextInt(1000))
+                    .rating(Math.round(random.nextDouble() * 50) / 10.0)
+                    .active(true)
+                    .createdAt(now.minusDays(i))
+                    .updatedAt(now)
+                    .build());
+            enquiries.add(EnquiryDTO.builder()
+                    .id((long) i)
+                    .name("Customer " + i)
+                    .email("customer" + i + "@example.com")
+                    .phone("+1-555-" + (1000 + i % 9000))
+                    .message(text(random, 20 + random.nextInt(30)))
+                    .productId((long) (1 + random.nextInt(items)))
+                    .status("PENDING")
+                    .createdAt(now.minusHours(i))
+                    .updatedAt(now)
+                    .build());
+        }
+        for (int i = 1; i <= 20; i++) {
+            categories.add(CategoryDTO.builder()
+                    .id((long) i)
+                    .name("Category " + i)
+                    .description(text(random, 15))
+                    .image("https://images.example.com/categories/" + i + ".jpg")
+                    .active(true)
+                    .createdAt(now)
+                    .updatedAt(now)
+                    .build());
+        }
+
+        System.out.printf("Payload: %d products, %d categories, %d enquiries; %d timed iterations%n%n",
+                items, categories.size(), items, iterations);
+        System.out.printf("%-10s %-7s %12s %10s %14s %14s%n", "payload", "format", "bytes", "vs JSON", "encode (us)", "decode (us)");
+
+        run("products", products, ProductDTO.class, iterations);
+        run("categories", categories, CategoryDTO.class, iterations);
+        run("enquiries", enquiries, EnquiryDTO.class, iterations);
+    }
+
+    private static <T> void run(String label, List<T> payload, Class<T> type, int iterations) throws Exception {
+        long jsonBytes = -1;
+        for (Format format : Format.values()) {
+            ObjectMapper mapper = format.mapper();
+            JavaType listType = mapper.getTypeFactory().constructCollectionType(List.class, type);
+
+            byte[] encoded = mapper.writeValueAsBytes(payload);
+            for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+                mapper.readValue(mapper.writeValueAsBytes(payload), listType);
+            }
+
+            long encodeNanos = 0;
+            long decodeNanos = 0;
+            for (int i = 0; i < iterations; i++) {
+                long start = System.nanoTime();
+                encoded = mapper.writeValueAsBytes(payload);
+                long mid = System.nanoTime();
+                List<T> decoded = mapper.readValue(encoded, listType);
+                long end = System.nanoTime();
+                if (decoded.size() != payload.size()) {
+                    throw new IllegalStateException(format + " round trip lost items");
+                }
+                encodeNanos += mid - start;
+                decodeNanos += end - mid;
+            }
+
+            if (format == Format.JSON) {
+                jsonBytes = encoded.length;
+            }
+            System.out.printf("%-10s %-7s %12d %9.1f%% %14.1f %14.1f%n", label, format, encoded.length,
+                    100.0 * encoded.length / jsonBytes,
+                    encodeNanos / 1_000.0 / iterations, decodeNanos / 1_000.0 / iterations);
+        }
+    }
+
+    private static String text(Random random, int words) {
+        String[] vocabulary = { "premium", "wireless", "durable", "lightweight", "compact", "battery", "design",
+                "quality", "portable", "comfort", "performance", "stainless", "organic", "classic", "modern" };
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                sb.append(' ');
+            }
+            sb.append(vocabulary[random.nextInt(vocabulary.length)]);
+        }
+        return sb.toString();
+    }
+
+    private enum Format {
+        JSON(new JsonFactory()),
+        CBOR(new CBORFactory()),
+        SMILE(new SmileFactory());
+
+        private final JsonFactory factory;
+
+        Format(JsonFactory factory) {
+            this.factory = factory;
+        }
+
+        ObjectMapper mapper() {
+            // Same shape as the service's mappers: ISO-8601 dates, java.time support
+            return new ObjectMapper(factory)
+                    .registerModule(new JavaTimeModule())
+                    .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        }
+    }
+}
@@ -0,0 +1,423 @@
+package com.ecommerce.core.controller;
+
+import com.ecommerce.core.model.Category;
+import com.ecommerce.core.model.Enquiry;
+import com.ecommerce.core.model.Enquiry.EnquiryStatus;
+import com.ecommerce.core.model.Product;
+import com.ecommerce.core.repository.CategoryRepository;
+import com.ecommerce.core.repository.EnquiryRepository;
+import com.ecommerce.core.repository.ProductRepository;
+import com.ecommerce.core.service.CategoryProductCounters;
+import com.ecommerce.core.service.CategoryTree;
+import com.ecommerce.core.service.RelatedProducts;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.QueryStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Query-count and row-count budgets for every endpoint, measured with
+ * Hibernate statistics against the H2 test profile. An endpoint that starts
+ * issuing a statement per row (or loading rows it does not return) fails
+ * its budget here instead of showing up as latency in production.
+ * <p>
+ * Statements are JDBC statements Hibernate prepared; rows are query result
+ * rows, or entities loaded when that is higher. Reads run first, against
+ * the seeded data only. The slowest statements seen across the suite are
+ * logged at the end.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN",
+        // Keep background jobs out of the measured windows
+        "catalog.snapshot.refresh-interval-ms=3600000",
+        "catalog.snapshot.write-interval-ms=3600000",
+        "category.tree.refresh-interval-ms=3600000",
+        "category.counters.stale-check-interval-ms=3600000",
+        "feature.flags.reload-interval-ms=3600000",
+        "server-timing.enabled=false"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@Slf4j
+class QueryBudgetIntegrationTest {
+
+    private static final int PRODUCTS_PER_CATEGORY = 10;
+    private static final int ENQUIRIES = 40;
+    private static final int SLOWEST_REPORTED = 10;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private EnquiryRepository enquiryRepository;
+
+    @Autowired
+    private CategoryTree categoryTree;
+
+    @Autowired
+    private CategoryProductCounters categoryProductCounters;
+
+    @Autowired
+    private RelatedProducts relatedProducts;
+
+    private Statistics statistics;
+    private final Map<String, StatementStats> statementStats = new HashMap<>();
+
+    private Category electronics;
+    private Category laptops;
+    private Product laptop;
+    private Product accessory;
+    private Enquiry pendingEnquiry;
+
+    @BeforeAll
+    void seed() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        electronics = categoryRepository.save(category("Electronics", null, "/"));
+        electronics.setPath("/" + electronics.getId() + "/");
+        electronics = categoryRepository.save(electronics);
+        laptops = categoryRepository.save(category("Laptops", electronics.getId(), null));
+        laptops.setPath(electronics.getPath() + laptops.getId() + "/");
+        laptops = categoryRepository.save(laptops);
+        Category books = categoryRepository.save(category("Books", null, null));
+        books.setPath("/" + books.getId() + "/");
+        categoryRepository.save(books);
+
+        for (Category category : List.of(electronics, laptops, books)) {
+            for (int i = 0; i < PRODUCTS_PER_CATEGORY; i++) {
+                Product product = productRepository.save(Product.builder()
+                        .name(category.getName() + " item " + i)
+                        .description("Sample " + category.getName().toLowerCase() + " product number " + i)
+                        .price(10.0 + i * 25)
+                        .categoryId(category.getId())
+                        .stock(5 + i)
+                        .rating(3.0 + (i % 3) * 0.5)
+                        .active(true)
+                        .build());
+                if (laptop == null && category == laptops) {
+                    laptop = product;
+                } else if (accessory == null && category == laptops) {
+                    accessory = product;
+                }
+            }
+        }
+
+        EnquiryStatus[] statuses = EnquiryStatus.values();
+        for (int i = 0; i < ENQUIRIES; i++) {
+            Enquiry enquiry = new Enquiry();
+            enquiry.setName("Customer " + i);
+            enquiry.setEmail("customer" + (i % 7) + "@example.com");
+            enquiry.setPhone("+1 555 0100");
+            enquiry.setMessage("Is this product available in other colours?");
+            enquiry.setProductId(i % 5 == 4 ? accessory.getId() : laptop.getId());
+            enquiry.setStatus(statuses[i % statuses.length]);
+            enquiry = enquiryRepository.save(enquiry);
+            if (pendingEnquiry == null && enquiry.getStatus() == EnquiryStatus.PENDING) {
+                pendingEnquiry = enquiry;
+            }
+        }
+
+        categoryTree.rebuild();
+        categoryProductCounters.reconcile();
+        relatedProducts.rebuild();
+    }
+
+    Stream<Arguments> readEndpoints() {
+        return Stream.of(
+                read(get("/products"), 1, 30),
+                read(get("/products").param("fields", "name,price"), 1, 30),
+                read(get("/products/{id}", laptop.getId()), 1, 1),
+                read(get("/products/{id}", 999_999), 1, 0, 404),
+                read(get("/products/trending"), 1, 1),
+                read(get("/products/{id}/related", laptop.getId()), 2, 2),
+                read(get("/products/category/{id}", electronics.getId()), 1, 10),
+                read(get("/products/category/{id}", electronics.getId()).param("includeSubcategories", "true"), 1, 20),
+                read(get("/products/search").param("q", "laptops item"), 1, 10),
+                read(get("/products/search").param("limit", "5"), 1, 5),
+                read(get("/products/search").param("q", "+laptops -item").param("mode", "boolean"), 1, 10),
+                read(get("/products/search/scored").param("q", "item 3"), 1, 3),
+                read(get("/products/price-range").param("minPrice", "50").param("maxPrice", "150"), 1, 12),
+                read(get("/categories"), 1, 3),
+                read(get("/categories").param("fields", "name"), 1, 3),
+                read(get("/categories/tree"), 0, 0),
+                read(get("/categories/admin/all"), 1, 3),
+                read(get("/categories/{id}", laptops.getId()), 1, 1),
+                read(get("/categories/name/{name}", "Books"), 1, 1),
+                read(get("/enquiries/{id}", pendingEnquiry.getId()), 1, 1),
+                read(get("/enquiries").param("size", "20"), 2, 21),
+                read(get("/enquiries/status/{status}", "PENDING").param("size", "20"), 1, 14),
+                read(get("/enquiries/slice").param("size", "20"), 1, 21),
+                read(get("/enquiries/counts"), 0, 0),
+                read(get("/config/features"), 0, 0),
+                read(get("/config/health"), 0, 0),
+                read(get("/config/ready"), 0, 0),
+                read(get("/config/info"), 0, 0),
+                read(get("/diagnostics/pool"), 0, 0),
+                read(get("/diagnostics/coalescing"), 0, 0),
+                read(get("/diagnostics/catalog"), 0, 0),
+                read(get("/diagnostics/trending"), 0, 0),
+                read(get("/diagnostics/related"), 0, 0),
+                read(get("/diagnostics/negative-cache"), 0, 0));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @Order(1)
+    @MethodSource("readEndpoints")
+    void readStaysWithinBudget(String endpoint, RequestBuilder request, int expectedStatus, Budget budget)
+            throws Exception {
+        assertWithinBudget(endpoint, request, expectedStatus, budget);
+    }
+
+    @Test
+    @Order(2)
+    void createProductStaysWithinBudget() throws Exception {
+        assertWithinBudget("POST /products", post("/products").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"Budget laptop\",\"price\":499.0,\"stock\":3,\"categoryId\":" + laptops.getId() + "}"),
+                201, new Budget(1, 0));
+    }
+
+    @Test
+    @Order(3)
+    void updateProductStaysWithinBudget() throws Exception {
+        Product product = newProduct("Updatable");
+        assertWithinBudget("PUT /products/{id}", put("/products/{id}", product.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"Updated\",\"price\":20.0,\"stock\":4,\"categoryId\":" + electronics.getId()
+                        + ",\"version\":" + product.getVersion() + "}"),
+                200, new Budget(2, 1));
+    }
+
+    @Test
+    @Order(4)
+    void deleteProductStaysWithinBudget() throws Exception {
+        Product product = newProduct("Deletable");
+        assertWithinBudget("DELETE /products/{id}", delete("/products/{id}", product.getId()), 204, new Budget(2, 1));
+    }
+
+    // Category writes rebuild the in-memory tree after commit, which reads every category
+    @Test
+    @Order(5)
+    void createCategoryStaysWithinBudget() throws Exception {
+        assertWithinBudget("POST /categories", post("/categories").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"Tablets\",\"parentId\":" + electronics.getId() + "}"), 201, new Budget(5, 4));
+    }
+
+    @Test
+    @Order(6)
+    void updateCategoryStaysWithinBudget() throws Exception {
+        Category category = categoryRepository.save(category("Renamable", null, null));
+        category.setPath("/" + category.getId() + "/");
+        categoryRepository.save(category);
+        assertWithinBudget("PUT /categories/{id}", put("/categories/{id}", category.getId())
+                .contentType(MediaType.APPLICATION_JSON).content("{\"name\":\"Renamed\"}"), 200, new Budget(4, 5));
+        // A move locks the category and the new parent's ancestors, then rewrites the branch's paths
+        assertWithinBudget("PUT /categories/{id} (move)", put("/categories/{id}", category.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"Renamed\",\"parentId\":" + laptops.getId() + "}"), 200, new Budget(7, 11));
+    }
+
+    @Test
+    @Order(7)
+    void deleteCategoryStaysWithinBudget() throws Exception {
+        Category category = categoryRepository.save(category("Removable", null, null));
+        assertWithinBudget("DELETE /categories/{id}", delete("/categories/{id}", category.getId()),
+                204, new Budget(2, 6));
+        Category permanent = categoryRepository.save(category("Purgeable", null, null));
+        assertWithinBudget("DELETE /categories/{id}/permanent", delete("/categories/{id}/permanent", permanent.getId()),
+                204, new Budget(5, 7));
+    }
+
+    @Test
+    @Order(8)
+    void createEnquiryStaysWithinBudget() throws Exception {
+        assertWithinBudget("POST /enquiries", post("/enquiries").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"New customer\",\"email\":\"new@example.com\",\"phone\":\"+1 555 0199\","
+                        + "\"message\":\"Do you ship internationally?\",\"productId\":" + laptop.getId() + "}"),
+                201, new Budget(1, 0));
+    }
+
+    @Test
+    @Order(9)
+    void updateEnquiryStatusStaysWithinBudget() throws Exception {
+        Enquiry enquiry = newEnquiry();
+        assertWithinBudget("PUT /enquiries/{id}/status", put("/enquiries/{id}/status", enquiry.getId())
+                .param("status", "REVIEWED"), 200, new Budget(2, 1));
+    }
+
+    @Test
+    @Order(10)
+    void deleteEnquiryStaysWithinBudget() throws Exception {
+        Enquiry enquiry = newEnquiry();
+        assertWithinBudget("DELETE /enquiries/{id}", delete("/enquiries/{id}", enquiry.getId()), 204, new Budget(1, 0));
+    }
+
+    @Test
+    @Order(11)
+    void bulkEnquiryOperationsStayWithinBudget() throws Exception {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            ids.add(newEnquiry().getId());
+        }
+        // Chunked set-based statements: a per-row update or delete would blow both budgets
+        assertWithinBudget("PUT /enquiries/bulk/status", put("/enquiries/bulk/status").param("status", "RESOLVED")
+                .contentType(MediaType.APPLICATION_JSON).content("{\"ids\":" + ids + "}"), 200, new Budget(2, 0));
+        assertWithinBudget("POST /enquiries/bulk/delete", post("/enquiries/bulk/delete")
+                .contentType(MediaType.APPLICATION_JSON).content("{\"ids\":" + ids + "}"), 200, new Budget(3, 0));
+    }
+
+    @Test
+    @Order(12)
+    void archiveRunStaysWithinBudget() throws Exception {
+        assertWithinBudget("POST /enquiries/archive", post("/enquiries/archive"), 200, new Budget(1, 0));
+    }
+
+    @AfterAll
+    void reportSlowestStatements() {
+        List<Map.Entry<String, StatementStats>> slowest = new ArrayList<>(statementStats.entrySet());
+        slowest.sort(Map.Entry.comparingByValue(Comparator.comparingLong(StatementStats::maxMillis).reversed()));
+        StringBuilder report = new StringBuilder("Slowest statements across the query budget suite:");
+        for (Map.Entry<String, StatementStats> entry : slowest.subList(0, Math.min(SLOWEST_REPORTED, slowest.size()))) {
+            StatementStats stats = entry.getValue();
+            report.append(String.format("%n  max %4d ms, %3d executions, %5d rows  %s", stats.maxMillis(),
+                    stats.executions(), stats.rows(), abbreviate(entry.getKey())));
+        }
+        log.info(report.toString());
+    }
+
+    private void assertWithinBudget(String endpoint, RequestBuilder request, int expectedStatus, Budget budget)
+            throws Exception {
+        statistics.clear();
+        mockMvc.perform(request).andExpect(status().is(expectedStatus));
+
+        long statements = statistics.getPrepareStatementCount();
+        long queryRows = 0;
+        for (String query : statistics.getQueries()) {
+            QueryStatistics queryStatistics = statistics.getQueryStatistics(query);
+            queryRows += queryStatistics.getExecutionRowCount();
+            statementStats.computeIfAbsent(query, q -> new StatementStats()).add(queryStatistics);
+        }
+        // Lookups by id load entities without running a query
+        long rows = Math.max(queryRows, statistics.getEntityLoadCount());
+        log.info("{}: {} statements (budget {}), {} rows (budget {})", endpoint, statements, budget.statements(),
+                rows, budget.rows());
+        assertTrue(statements <= budget.statements(), () -> endpoint + " prepared " + statements
+                + " statements, budget is " + budget.statements() + "; queries: " + List.of(statistics.getQueries()));
+        assertTrue(rows <= budget.rows(), () -> endpoint + " read " + rows + " rows, budget is " + budget.rows());
+    }
+
+    private static Arguments read(RequestBuilder request, int statements, int rows) {
+        return read(request, statements, rows, 200);
+    }
+
+    private static Arguments read(RequestBuilder request, int statements, int rows, int expectedStatus) {
+        MockHttpServletRequest built = request.buildRequest(new MockServletContext());
+        String endpoint = built.getMethod() + " " + built.getRequestURI()
+                + (built.getQueryString() != null ? "?" + built.getQueryString() : "");
+        return Arguments.of(endpoint, request, expectedStatus, new Budget(statements, rows));
+    }
+
+    private Product newProduct(String name) {
+        Product product = productRepository.save(Product.builder().name(name).price(15.0).stock(2)
+                .categoryId(electronics.getId()).active(true).build());
+        categoryProductCounters.reconcile();
+        return product;
+    }
+
+    private Enquiry newEnquiry() {
+        Enquiry enquiry = new Enquiry();
+        enquiry.setName("Bulk customer");
+        enquiry.setEmail("bulk@example.com");
+        enquiry.setPhone("+1 555 0142");
+        enquiry.setMessage("Please call me back about this product.");
+        enquiry.setStatus(EnquiryStatus.PENDING);
+        return enquiryRepository.save(enquiry);
+    }
+
+    private static Category category(String name, Long parentId, String path) {
+        Category category = new Category();
+        category.setName(name);
+        category.setDescription(name + " category");
+        category.setParentId(parentId);
+        category.setPath(path);
+        category.setActive(true);
+        return category;
+    }
+
+    private static String abbreviate(String sql) {
+        String flat = sql.replaceAll("\\s+", " ");
+        return flat.length() > 160 ? flat.substring(0, 157) + "..." : flat;
+    }
+
+    private record Budget(int statements, int rows) {
+    }
+
+    private static final class StatementStats {
+        private long executions;
+        private long rows;
+        private long maxMillis;
+
+        void add(QueryStatistics statistics) {
+            executions += statistics.getExecutionCount();
+            rows += statistics.getExecutionRowCount();
+            maxMillis = Math.max(maxMillis, statistics.getExecutionMaxTime());
+        }
+
+        long executions() {
+            return executions;
+        }
+
+        long rows() {
+            return rows;
+        }
+
+        long maxMillis() {
+            return maxMillis;
+        }
+    }
+}
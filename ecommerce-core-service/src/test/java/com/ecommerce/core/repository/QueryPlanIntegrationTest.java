@@ -0,0 +1,398 @@
+package com.ecommerce.core.repository;
+
+import com.ecommerce.core.model.ArchivedEnquiry;
+import com.ecommerce.core.model.Category;
+import com.ecommerce.core.model.Enquiry;
+import com.ecommerce.core.model.Enquiry.EnquiryStatus;
+import com.ecommerce.core.model.Product;
+import com.ecommerce.core.service.EnquiryExportService;
+import com.ecommerce.core.service.EnquiryExportService.Format;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Runs every hot repository query (and the enquiry export cursor) against the schema the Flyway migrations
+ * build (H2 in MySQL mode) and checks its plan: each table must be read
+ * through an index, never by a full table scan. Plans come from
+ * {@code EXPLAIN} of the exact SQL Hibernate sent, bound to the same
+ * parameter values.
+ * <p>
+ * Left out on purpose: the {@code LIKE '%term%'} product search (served by
+ * the FULLTEXT index on MySQL), the whole-table reads behind the catalog
+ * view and category list, and the admin and startup statements
+ * ({@code findByNameIgnoreCase}, {@code backfillRootPaths}).
+ */
+@SpringBootTest(properties = {
+        // Keep background jobs off the captured connections
+        "catalog.snapshot.refresh-interval-ms=3600000",
+        "catalog.snapshot.write-interval-ms=3600000",
+        "category.tree.refresh-interval-ms=3600000",
+        "feature.flags.reload-interval-ms=3600000",
+        "server-timing.enabled=false"
+})
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryPlanIntegrationTest {
+
+    private static final int PRODUCTS_PER_CATEGORY = 50;
+    private static final int ENQUIRIES = 400;
+    private static final int ARCHIVED = 100;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private EnquiryRepository enquiryRepository;
+
+    @Autowired
+    private ArchivedEnquiryRepository archivedEnquiryRepository;
+
+    @Autowired
+    private EnquiryExportService enquiryExportService;
+
+    private Category electronics;
+    private Category laptops;
+    private Product laptop;
+    private Enquiry enquiry;
+    private LocalDateTime now;
+
+    @BeforeAll
+    void seed() {
+        now = LocalDateTime.now();
+        electronics = categoryRepository.save(category("Electronics", null));
+        electronics.setPath("/" + electronics.getId() + "/");
+        electronics = categoryRepository.save(electronics);
+        laptops = categoryRepository.save(category("Laptops", electronics.getId()));
+        laptops.setPath(electronics.getPath() + laptops.getId() + "/");
+        laptops = categoryRepository.save(laptops);
+        for (String name : List.of("Books", "Garden", "Toys", "Music")) {
+            Category root = categoryRepository.save(category(name, null));
+            root.setPath("/" + root.getId() + "/");
+            categoryRepository.save(root);
+        }
+
+        List<Product> products = new ArrayList<>();
+        for (Category category : categoryRepository.findAll()) {
+            for (int i = 0; i < PRODUCTS_PER_CATEGORY; i++) {
+                products.add(Product.builder()
+                        .name(category.getName() + " item " + i)
+                        .description("Sample " + category.getName().toLowerCase(Locale.ROOT) + " product " + i)
+                        .price(5.0 + i * 10)
+                        .categoryId(category.getId())
+                        .stock(i)
+                        .rating(4.0)
+                        .active(i % 10 != 0)
+                        .build());
+            }
+        }
+        laptop = productRepository.saveAll(products).stream()
+                .filter(product -> product.getCategoryId().equals(laptops.getId()) && product.getActive())
+                .findFirst()
+                .orElseThrow();
+
+        List<Enquiry> enquiries = new ArrayList<>();
+        EnquiryStatus[] statuses = EnquiryStatus.values();
+        for (int i = 0; i < ENQUIRIES; i++) {
+            Enquiry row = new Enquiry();
+            row.setName("Customer " + i);
+            row.setEmail("customer" + (i % 50) + "@example.com");
+            row.setPhone("+1 555 0100");
+            row.setMessage("Is this available in other colours?");
+            row.setProductId(products.get(i % products.size()).getId());
+            row.setStatus(statuses[i % statuses.length]);
+            enquiries.add(row);
+        }
+        enquiry = enquiryRepository.saveAll(enquiries).get(0);
+
+        List<ArchivedEnquiry> archived = new ArrayList<>();
+        for (int i = 0; i < ARCHIVED; i++) {
+            archived.add(ArchivedEnquiry.builder()
+                    .id(1_000_000L + i)
+                    .name("Archived " + i)
+                    .email("archived" + (i % 20) + "@example.com")
+                    .phone("+1 555 0100")
+                    .status(EnquiryStatus.RESOLVED)
+                    .createdAt(now.minusDays(400 - i))
+                    .updatedAt(now.minusDays(300 - i))
+                    .archivedAt(now.minusDays(1))
+                    .build());
+        }
+        archivedEnquiryRepository.saveAll(archived);
+
+        // Row counts and column selectivity for the planner
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    Stream<Arguments> hotQueries() {
+        PageRequest page = PageRequest.of(0, 21);
+        PageRequest newestFirst = PageRequest.of(0, 20, Sort.by("createdAt").descending());
+        LocalDateTime cursor = now.plusMinutes(1);
+        return Stream.of(
+                query("ProductRepository.findByIdAndActiveTrue",
+                        () -> productRepository.findByIdAndActiveTrue(laptop.getId())),
+                query("ProductRepository.findByCategoryIdAndActiveTrue",
+                        () -> productRepository.findByCategoryIdAndActiveTrue(laptops.getId())),
+                query("ProductRepository.findActiveInCategories",
+                        () -> productRepository.findActiveInCategories(List.of(electronics.getId(), laptops.getId()))),
+                query("ProductRepository.findByPriceRange",
+                        () -> productRepository.findByPriceRange(100.0, 200.0)),
+                query("ProductRepository.findByUpdatedAtGreaterThanEqual",
+                        () -> productRepository.findByUpdatedAtGreaterThanEqual(now.plusSeconds(1))),
+                query("ProductRepository.countActiveGroupedByCategory",
+                        () -> productRepository.countActiveGroupedByCategory()),
+                query("ProductRepository.findCountingState",
+                        () -> productRepository.findCountingState(laptop.getId())),
+                query("ProductRepository.softDelete",
+                        () -> inRolledBackTransaction(() -> productRepository.softDelete(laptop.getId(), now))),
+                query("CategoryRepository.findByIdAndActiveTrue",
+                        () -> categoryRepository.findByIdAndActiveTrue(laptops.getId())),
+                query("CategoryRepository.findByNameAndActiveTrue",
+                        () -> categoryRepository.findByNameAndActiveTrue("Books")),
+                query("CategoryRepository.findByUpdatedAtGreaterThanEqual",
+                        () -> categoryRepository.findByUpdatedAtGreaterThanEqual(now.plusSeconds(1))),
+                query("CategoryRepository.existsByParentId",
+                        () -> categoryRepository.existsByParentId(electronics.getId())),
+                query("CategoryRepository.findByPathStartingWith",
+                        () -> categoryRepository.findByPathStartingWith(electronics.getPath())),
+                query("CategoryRepository.findPathById",
+                        () -> categoryRepository.findPathById(laptops.getId())),
+                query("CategoryRepository.lockAllById",
+                        () -> inRolledBackTransaction(() -> categoryRepository.lockAllById(
+                                List.of(electronics.getId(), laptops.getId())))),
+                query("EnquiryRepository.findByIdAndEmail",
+                        () -> enquiryRepository.findByIdAndEmail(enquiry.getId(), enquiry.getEmail())),
+                query("EnquiryRepository.findByStatus",
+                        () -> enquiryRepository.findByStatus(EnquiryStatus.PENDING, newestFirst)),
+                query("EnquiryRepository.findByEmail",
+                        () -> enquiryRepository.findByEmail(enquiry.getEmail(), newestFirst)),
+                query("EnquiryRepository.findAllByOrderByCreatedAtDescIdDesc",
+                        () -> enquiryRepository.findAllByOrderByCreatedAtDescIdDesc(page)),
+                query("EnquiryRepository.findByStatusOrderByCreatedAtDescIdDesc",
+                        () -> enquiryRepository.findByStatusOrderByCreatedAtDescIdDesc(EnquiryStatus.REVIEWED, page)),
+                query("EnquiryRepository.findAfterCursor",
+                        () -> enquiryRepository.findAfterCursor(cursor, Long.MAX_VALUE, page)),
+                query("EnquiryRepository.findByStatusAfterCursor",
+                        () -> enquiryRepository.findByStatusAfterCursor(EnquiryStatus.PENDING, cursor, Long.MAX_VALUE, page)),
+                query("EnquiryRepository.findArchivable",
+                        () -> enquiryRepository.findArchivable(EnquiryStatus.RESOLVED, now.minusDays(180), page)),
+                query("EnquiryRepository.findIdsMatching",
+                        () -> enquiryRepository.findIdsMatching(0L, EnquiryStatus.PENDING, cursor, page)),
+                query("EnquiryRepository.transitionStatus",
+                        () -> inRolledBackTransaction(() -> enquiryRepository.transitionStatus(enquiry.getId(),
+                                EnquiryStatus.PENDING, EnquiryStatus.REVIEWED, now))),
+                query("EnquiryRepository.deleteByIdAndStatus",
+                        () -> inRolledBackTransaction(() -> enquiryRepository.deleteByIdAndStatus(enquiry.getId(),
+                                EnquiryStatus.PENDING))),
+                query("EnquiryRepository.countGroupedByStatus",
+                        () -> enquiryRepository.countGroupedByStatus()),
+                query("EnquiryExportService.export by created_at range",
+                        () -> export(null, now.minusDays(30), cursor)),
+                query("EnquiryExportService.export by status and created_at range",
+                        () -> export(EnquiryStatus.RESOLVED, now.minusDays(30), cursor)),
+                query("ArchivedEnquiryRepository.findAllByOrderByCreatedAtDescIdDesc",
+                        () -> archivedEnquiryRepository.findAllByOrderByCreatedAtDescIdDesc(page)),
+                query("ArchivedEnquiryRepository.findByStatusOrderByCreatedAtDescIdDesc",
+                        () -> archivedEnquiryRepository.findByStatusOrderByCreatedAtDescIdDesc(EnquiryStatus.RESOLVED, page)),
+                query("ArchivedEnquiryRepository.findAfterCursor",
+                        () -> archivedEnquiryRepository.findAfterCursor(cursor, Long.MAX_VALUE, page))
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("hotQueries")
+    void readsEveryTableThroughAnIndex(String name, Runnable call) throws SQLException {
+        ExplainingDataSource explaining = dataSource.unwrap(ExplainingDataSource.class);
+        explaining.startCapture();
+        List<QueryPlan> plans;
+        try {
+            call.run();
+        } finally {
+            plans = explaining.stopCapture();
+        }
+
+        assertFalse(plans.isEmpty(), name + " ran no statements");
+        for (QueryPlan plan : plans) {
+            assertFalse(plan.plan().contains(".tableScan"),
+                    () -> name + " scans a whole table:\n" + plan.plan());
+        }
+    }
+
+    private void export(EnquiryStatus status, LocalDateTime createdFrom, LocalDateTime createdBefore) {
+        try {
+            enquiryExportService.export(Format.CSV, status, createdFrom, createdBefore, OutputStream.nullOutputStream());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void inRolledBackTransaction(Runnable work) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            work.run();
+            status.setRollbackOnly();
+        });
+    }
+
+    private static Arguments query(String name, Runnable call) {
+        return Arguments.of(name, call);
+    }
+
+    private static Category category(String name, Long parentId) {
+        Category category = new Category();
+        category.setName(name);
+        category.setDescription(name + " category");
+        category.setParentId(parentId);
+        category.setActive(true);
+        return category;
+    }
+
+    record QueryPlan(String sql, String plan) {
+    }
+
+    @TestConfiguration
+    static class ExplainConfig {
+
+        @Bean
+        static BeanPostProcessor explainingDataSourcePostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource target && !(bean instanceof ExplainingDataSource)
+                            ? new ExplainingDataSource(target)
+                            : bean;
+                }
+            };
+        }
+    }
+
+    /**
+     * While capturing, runs {@code EXPLAIN} ahead of every SELECT, UPDATE and
+     * DELETE on the same connection, replaying the parameters the statement
+     * was bound with
+     */
+    static final class ExplainingDataSource extends DelegatingDataSource {
+
+        private volatile List<QueryPlan> plans;
+
+        ExplainingDataSource(DataSource target) {
+            super(target);
+        }
+
+        void startCapture() {
+            plans = new CopyOnWriteArrayList<>();
+        }
+
+        List<QueryPlan> stopCapture() {
+            List<QueryPlan> captured = plans;
+            plans = null;
+            return captured;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return explaining(super.getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return explaining(super.getConnection(username, password));
+        }
+
+        private Connection explaining(Connection connection) {
+            return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> {
+                        Object result = invoke(connection, method, args);
+                        if (method.getName().equals("prepareStatement") && plans != null) {
+                            return explaining(connection, (PreparedStatement) result, (String) args[0]);
+                        }
+                        return result;
+                    });
+        }
+
+        private PreparedStatement explaining(Connection connection, PreparedStatement statement, String sql) {
+            List<Object[]> bindings = new ArrayList<>();
+            return (PreparedStatement) Proxy.newProxyInstance(getClass().getClassLoader(),
+                    new Class<?>[]{PreparedStatement.class},
+                    (proxy, method, args) -> {
+                        String name = method.getName();
+                        if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+                            bindings.add(new Object[]{method, args});
+                        } else if (name.startsWith("execute") && (args == null || args.length == 0)) {
+                            explain(connection, sql, bindings);
+                        }
+                        return invoke(statement, method, args);
+                    });
+        }
+
+        private void explain(Connection connection, String sql, List<Object[]> bindings) throws Throwable {
+            List<QueryPlan> target = plans;
+            String verb = sql.stripLeading().toLowerCase(Locale.ROOT);
+            if (target == null || !(verb.startsWith("select") || verb.startsWith("update") || verb.startsWith("delete"))) {
+                return;
+            }
+            try (PreparedStatement explain = connection.prepareStatement("EXPLAIN " + sql)) {
+                for (Object[] binding : bindings) {
+                    invoke(explain, (Method) binding[0], (Object[]) binding[1]);
+                }
+                try (ResultSet plan = explain.executeQuery()) {
+                    plan.next();
+                    target.add(new QueryPlan(sql, plan.getString(1)));
+                }
+            }
+        }
+
+        private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
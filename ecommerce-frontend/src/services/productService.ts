@@ -13,6 +13,7 @@ export interface Product {
   active?: boolean;
   createdAt?: string;
   updatedAt?: string;
+  version?: number;
 }
 
 export interface ProductFilter {
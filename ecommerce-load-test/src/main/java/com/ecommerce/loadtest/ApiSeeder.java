@@ -0,0 +1,119 @@
+package com.ecommerce.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.io.IOException;
+import java.net.URLEncoder;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+/**
+ * Seeds through the public REST API. Slower than {@link JdbcSeeder} but needs
+ * no database access; every enquiry is created PENDING with the current time.
+ */
+public class ApiSeeder implements Seeder {
+
+    private final ServiceClient client;
+    private final int threads;
+
+    public ApiSeeder(ServiceClient client, int threads) {
+        this.client = client;
+        this.threads = threads;
+    }
+
+    @Override
+    public void seed(SyntheticCatalog catalog) throws Exception {
+        long[] categoryIds = new long[catalog.categoryCount()];
+        for (int i = 0; i < categoryIds.length; i++) {
+            categoryIds[i] = createCategory(catalog.category(i));
+        }
+        System.out.printf("Seeded %d categories%n", categoryIds.length);
+
+        long[] productIds = createAll("products", catalog.productCount(), i -> {
+            SyntheticCatalog.Product product = catalog.product(i);
+            Map<String, Object> body = new LinkedHashMap<>();
+            body.put("name", product.name());
+            body.put("description", product.description());
+            body.put("price", product.price());
+            body.put("categoryId", categoryIds[product.categoryIndex()]);
+            body.put("image", product.image());
+            body.put("stock", product.stock());
+            body.put("rating", product.rating());
+            return body;
+        }, "/products");
+
+        createAll("enquiries", catalog.enquiryCount(), i -> {
+            SyntheticCatalog.Enquiry enquiry = catalog.enquiry(i);
+            Map<String, Object> body = new LinkedHashMap<>();
+            body.put("name", enquiry.name());
+            body.put("email", enquiry.email());
+            body.put("phone", enquiry.phone());
+            body.put("message", enquiry.message());
+            body.put("productId", productIds[enquiry.productIndex()]);
+            return body;
+        }, "/enquiries");
+    }
+
+    private long createCategory(SyntheticCatalog.Category category) throws IOException, InterruptedException {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("name", category.name());
+        body.put("description", category.description());
+        body.put("image", category.image());
+        HttpResponse<byte[]> response = client.send(client.post("/categories", body));
+        if (response.statusCode() == 201 || response.statusCode() == 200) {
+            return client.readJson(response).get("id").asLong();
+        }
+        // Names are unique, so a re-run with the same seed finds the existing row
+        HttpResponse<byte[]> existing = client.send(client.get("/categories/name/"
+                + URLEncoder.encode(category.name(), StandardCharsets.UTF_8).replace("+", "%20")));
+        if (existing.statusCode() != 200) {
+            throw new IOException("Could not create category '" + category.name() + "': HTTP "
+                    + response.statusCode() + " " + new String(response.body(), StandardCharsets.UTF_8));
+        }
+        return client.readJson(existing).get("id").asLong();
+    }
+
+    private long[] createAll(String kind, int count, IntFunction<Map<String, Object>> body, String path)
+            throws Exception {
+        long[] ids = new long[count];
+        AtomicInteger next = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Void>> workers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                workers.add(pool.submit(() -> {
+                    int i;
+                    while ((i = next.getAndIncrement()) < count) {
+                        HttpResponse<byte[]> response = client.send(client.post(path, body.apply(i)));
+                        if (response.statusCode() / 100 != 2) {
+                            throw new IOException("POST " + path + " returned " + response.statusCode() + ": "
+                                    + new String(response.body(), StandardCharsets.UTF_8));
+                        }
+                        JsonNode id = client.readJson(response).get("id");
+                        ids[i] = id != null ? id.asLong() : 0;
+                        if ((i + 1) % 1000 == 0) {
+                            System.out.printf("  %s: %d/%d%n", kind, i + 1, count);
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<Void> worker : workers) {
+                worker.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        System.out.printf("Seeded %d %s%n", count, kind);
+        return ids;
+    }
+}
@@ -0,0 +1,138 @@
+package com.ecommerce.loadtest;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * Seeds straight into the database with batched inserts. Enquiries get a
+ * realistic spread of statuses and ages (up to two years), which the API
+ * cannot produce. For MySQL add {@code rewriteBatchedStatements=true} to the
+ * JDBC URL.
+ */
+public class JdbcSeeder implements Seeder {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private final String url;
+    private final String user;
+    private final String password;
+
+    public JdbcSeeder(String url, String user, String password) {
+        this.url = url;
+        this.user = user;
+        this.password = password;
+    }
+
+    @Override
+    public void seed(SyntheticCatalog catalog) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(url, user, password)) {
+            connection.setAutoCommit(false);
+            long[] categoryIds = seedCategories(connection, catalog);
+            long[] productIds = seedProducts(connection, catalog, categoryIds);
+            seedEnquiries(connection, catalog, productIds);
+        }
+    }
+
+    private long[] seedCategories(Connection connection, SyntheticCatalog catalog) throws SQLException {
+        long[] ids = new long[catalog.categoryCount()];
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        try (PreparedStatement find = connection.prepareStatement("SELECT id FROM categories WHERE name = ?");
+             PreparedStatement insert = connection.prepareStatement(
+                     "INSERT INTO categories (name, description, image, created_at, updated_at, active) "
+                             + "VALUES (?, ?, ?, ?, ?, TRUE)", Statement.RETURN_GENERATED_KEYS)) {
+            for (int i = 0; i < ids.length; i++) {
+                SyntheticCatalog.Category category = catalog.category(i);
+                find.setString(1, category.name());
+                try (ResultSet rs = find.executeQuery()) {
+                    if (rs.next()) {
+                        ids[i] = rs.getLong(1);
+                        continue;
+                    }
+                }
+                insert.setString(1, category.name());
+                insert.setString(2, category.description());
+                insert.setString(3, category.image());
+                insert.setTimestamp(4, now);
+                insert.setTimestamp(5, now);
+                insert.executeUpdate();
+                try (ResultSet keys = insert.getGeneratedKeys()) {
+                    keys.next();
+                    ids[i] = keys.getLong(1);
+                }
+            }
+        }
+        connection.commit();
+        System.out.printf("Seeded %d categories%n", ids.length);
+        return ids;
+    }
+
+    private long[] seedProducts(Connection connection, SyntheticCatalog catalog, long[] categoryIds)
+            throws SQLException {
+        long[] ids = new long[catalog.productCount()];
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO products (name, description, price, category_id, image, stock, rating, "
+                        + "created_at, updated_at, active) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, TRUE)",
+                Statement.RETURN_GENERATED_KEYS)) {
+            int batchStart = 0;
+            for (int i = 0; i < ids.length; i++) {
+                SyntheticCatalog.Product product = catalog.product(i);
+                insert.setString(1, product.name());
+                insert.setString(2, product.description());
+                insert.setDouble(3, product.price());
+                insert.setLong(4, categoryIds[product.categoryIndex()]);
+                insert.setString(5, product.image());
+                insert.setInt(6, product.stock());
+                insert.setDouble(7, product.rating());
+                insert.setTimestamp(8, now);
+                insert.setTimestamp(9, now);
+                insert.addBatch();
+                if (i + 1 - batchStart == BATCH_SIZE || i == ids.length - 1) {
+                    insert.executeBatch();
+                    try (ResultSet keys = insert.getGeneratedKeys()) {
+                        for (int k = batchStart; k <= i && keys.next(); k++) {
+                            ids[k] = keys.getLong(1);
+                        }
+                    }
+                    connection.commit();
+                    batchStart = i + 1;
+                }
+            }
+        }
+        System.out.printf("Seeded %d products%n", ids.length);
+        return ids;
+    }
+
+    private void seedEnquiries(Connection connection, SyntheticCatalog catalog, long[] productIds)
+            throws SQLException {
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO enquiries (name, email, phone, message, product_id, status, created_at, updated_at) "
+                        + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)")) {
+            int count = catalog.enquiryCount();
+            for (int i = 0; i < count; i++) {
+                SyntheticCatalog.Enquiry enquiry = catalog.enquiry(i);
+                Timestamp createdAt = Timestamp.valueOf(enquiry.createdAt());
+                insert.setString(1, enquiry.name());
+                insert.setString(2, enquiry.email());
+                insert.setString(3, enquiry.phone());
+                insert.setString(4, enquiry.message());
+                insert.setLong(5, productIds[enquiry.productIndex()]);
+                insert.setString(6, enquiry.status());
+                insert.setTimestamp(7, createdAt);
+                insert.setTimestamp(8, createdAt);
+                insert.addBatch();
+                if ((i + 1) % BATCH_SIZE == 0 || i == count - 1) {
+                    insert.executeBatch();
+                    connection.commit();
+                }
+            }
+            System.out.printf("Seeded %d enquiries%n", count);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.ecommerce.loadtest;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Raw latency samples per endpoint. Each worker owns one recorder, so
+ * recording is unsynchronised; recorders are merged once the run ends and
+ * percentiles are computed exactly from the sorted samples.
+ */
+public class LatencyRecorder {
+
+    private final Map<String, Samples> endpoints = new LinkedHashMap<>();
+
+    public void record(String endpoint, long latencyNanos, boolean error) {
+        Samples samples = endpoints.computeIfAbsent(endpoint, e -> new Samples());
+        samples.add(latencyNanos);
+        if (error) {
+            samples.errors++;
+        }
+    }
+
+    public void merge(LatencyRecorder other) {
+        other.endpoints.forEach((endpoint, samples) ->
+                endpoints.computeIfAbsent(endpoint, e -> new Samples()).addAll(samples));
+    }
+
+    public Map<String, Samples> endpoints() {
+        return endpoints;
+    }
+
+    public Samples total() {
+        Samples total = new Samples();
+        endpoints.values().forEach(total::addAll);
+        return total;
+    }
+
+    public static class Samples {
+
+        private long[] nanos = new long[1024];
+        private int size;
+        private long errors;
+
+        void add(long value) {
+            if (size == nanos.length) {
+                nanos = Arrays.copyOf(nanos, size * 2);
+            }
+            nanos[size++] = value;
+        }
+
+        void addAll(Samples other) {
+            if (size + other.size > nanos.length) {
+                nanos = Arrays.copyOf(nanos, Math.max(size + other.size, nanos.length * 2));
+            }
+            System.arraycopy(other.nanos, 0, nanos, size, other.size);
+            size += other.size;
+            errors += other.errors;
+        }
+
+        public int count() {
+            return size;
+        }
+
+        public long errors() {
+            return errors;
+        }
+
+        /**
+         * Sorted copy of the samples in milliseconds
+         */
+        public double[] sortedMillis() {
+            long[] sorted = Arrays.copyOf(nanos, size);
+            Arrays.sort(sorted);
+            double[] millis = new double[size];
+            for (int i = 0; i < size; i++) {
+                millis[i] = sorted[i] / 1_000_000.0;
+            }
+            return millis;
+        }
+
+        /**
+         * Nearest-rank percentile of an already sorted array
+         */
+        static double percentile(double[] sorted, double percentile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+            return sorted[Math.max(0, Math.min(sorted.length, rank) - 1)];
+        }
+    }
+}
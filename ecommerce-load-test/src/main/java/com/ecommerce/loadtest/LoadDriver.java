@@ -0,0 +1,175 @@
+package com.ecommerce.loadtest;
+
+import java.io.IOException;
+import java.net.http.HttpRequest;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Closed-loop workload: each worker thread issues its next request as soon as
+ * the previous one completes. Requests started during the warm-up are sent but
+ * not recorded.
+ */
+public class LoadDriver {
+
+    private static final String[] ENQUIRY_STATUSES = { "PENDING", "REVIEWED", "RESOLVED" };
+
+    private final LoadTestConfig config;
+    private final ServiceClient client;
+    private final SyntheticCatalog catalog;
+    private final List<Long> categoryIds;
+    private final List<Long> productIds;
+    private final Operation[] weightedOps;
+
+    public LoadDriver(LoadTestConfig config, ServiceClient client, SyntheticCatalog catalog,
+            List<Long> categoryIds, List<Long> productIds) {
+        this.config = config;
+        this.client = client;
+        this.catalog = catalog;
+        this.categoryIds = categoryIds;
+        this.productIds = productIds;
+        this.weightedOps = expandMix(config.mix());
+    }
+
+    /**
+     * Run warm-up and measured phase, returning the merged samples of the
+     * measured phase
+     */
+    public LatencyRecorder run() throws Exception {
+        long measureStart = System.nanoTime() + config.warmup().toNanos();
+        long measureEnd = measureStart + config.duration().toNanos();
+
+        ExecutorService pool = Executors.newFixedThreadPool(config.threads());
+        List<Future<LatencyRecorder>> workers = new ArrayList<>();
+        for (int t = 0; t < config.threads(); t++) {
+            Random random = new Random(config.randomSeed() * 7919 + t);
+            workers.add(pool.submit(() -> work(random, measureStart, measureEnd)));
+        }
+        LatencyRecorder merged = new LatencyRecorder();
+        try {
+            for (Future<LatencyRecorder> worker : workers) {
+                merged.merge(worker.get());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        return merged;
+    }
+
+    private LatencyRecorder work(Random random, long measureStart, long measureEnd) throws InterruptedException {
+        LatencyRecorder recorder = new LatencyRecorder();
+        long now;
+        while ((now = System.nanoTime()) < measureEnd) {
+            Call call = nextCall(random);
+            boolean error;
+            long start = System.nanoTime();
+            try {
+                int status = client.exchange(call.request());
+                error = status >= 400;
+            } catch (IOException e) {
+                error = true;
+            }
+            long latency = System.nanoTime() - start;
+            if (now >= measureStart) {
+                recorder.record(call.endpoint(), latency, error);
+            }
+        }
+        return recorder;
+    }
+
+    Call nextCall(Random random) {
+        Operation op = weightedOps[random.nextInt(weightedOps.length)];
+        switch (op) {
+            case BROWSE:
+                return browse(random);
+            case SEARCH: {
+                String query = pick(random, SyntheticCatalog.NOUNS).split(" ")[0].toLowerCase();
+                if (random.nextInt(3) == 0) {
+                    query += "%20" + pick(random, SyntheticCatalog.DESCRIPTION_WORDS);
+                }
+                return new Call("GET /products/search", client.get("/products/search?q=" + query));
+            }
+            case PRICE: {
+                int min = random.nextInt(200);
+                int max = min + 10 + random.nextInt(200);
+                return new Call("GET /products/price-range",
+                        client.get("/products/price-range?minPrice=" + min + "&maxPrice=" + max));
+            }
+            case ENQUIRY:
+                return new Call("POST /enquiries", client.post("/enquiries", enquiryBody(random)));
+            case ADMIN:
+            default:
+                return admin(random);
+        }
+    }
+
+    private Call browse(Random random) {
+        int roll = random.nextInt(100);
+        if (roll < 15) {
+            return new Call("GET /categories", client.get("/categories"));
+        }
+        if (roll < 35) {
+            return new Call("GET /products?fields",
+                    client.get("/products?fields=id,name,price,image,rating"));
+        }
+        if (roll < 60) {
+            return new Call("GET /products/category/{id}",
+                    client.get("/products/category/" + pick(random, categoryIds)));
+        }
+        return new Call("GET /products/{id}", client.get("/products/" + pick(random, productIds)));
+    }
+
+    private Call admin(Random random) {
+        int roll = random.nextInt(100);
+        if (roll < 40) {
+            return new Call("GET /enquiries/slice",
+                    client.get("/enquiries/slice?size=20&status=" + pick(random, ENQUIRY_STATUSES)));
+        }
+        if (roll < 70) {
+            return new Call("GET /enquiries", client.get("/enquiries?page=" + (1 + random.nextInt(5)) + "&size=20"));
+        }
+        if (roll < 85) {
+            return new Call("GET /enquiries/status/{status}",
+                    client.get("/enquiries/status/" + pick(random, ENQUIRY_STATUSES) + "?size=20"));
+        }
+        return new Call("GET /categories/admin/all", client.get("/categories/admin/all"));
+    }
+
+    private Map<String, Object> enquiryBody(Random random) {
+        SyntheticCatalog.Enquiry enquiry = catalog.enquiry(catalog.enquiryCount() + random.nextInt(1_000_000));
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("name", enquiry.name());
+        body.put("email", enquiry.email());
+        body.put("phone", enquiry.phone());
+        body.put("message", enquiry.message());
+        body.put("productId", pick(random, productIds));
+        return body;
+    }
+
+    private static Operation[] expandMix(Map<Operation, Integer> mix) {
+        List<Operation> ops = new ArrayList<>();
+        mix.forEach((op, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                ops.add(op);
+            }
+        });
+        return ops.toArray(new Operation[0]);
+    }
+
+    private static <T> T pick(Random random, List<T> values) {
+        return values.get(random.nextInt(values.size()));
+    }
+
+    private static String pick(Random random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    record Call(String endpoint, HttpRequest request) {
+    }
+}
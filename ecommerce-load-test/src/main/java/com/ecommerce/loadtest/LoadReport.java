@@ -0,0 +1,136 @@
+package com.ecommerce.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-endpoint throughput and latency percentiles, printed as a table, saved
+ * as JSON and optionally compared with an earlier result file.
+ */
+public class LoadReport {
+
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+    private static final String TOTAL = "TOTAL";
+
+    private final LoadTestConfig config;
+    private final LocalDateTime finishedAt;
+    private final List<EndpointResult> results = new ArrayList<>();
+
+    public LoadReport(LoadTestConfig config, LatencyRecorder recorder) {
+        this.config = config;
+        this.finishedAt = LocalDateTime.now();
+        double seconds = config.duration().toMillis() / 1000.0;
+        recorder.endpoints().entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(e -> results.add(EndpointResult.of(e.getKey(), e.getValue(), seconds)));
+        results.add(EndpointResult.of(TOTAL, recorder.total(), seconds));
+    }
+
+    public void print() {
+        System.out.println();
+        System.out.printf("%-32s %8s %7s %9s %9s %9s %9s %9s %9s %9s%n", "endpoint", "requests", "errors",
+                "req/s", "mean ms", "p50 ms", "p90 ms", "p95 ms", "p99 ms", "max ms");
+        for (EndpointResult r : results) {
+            System.out.printf("%-32s %8d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f %9.2f%n", r.endpoint(),
+                    r.requests(), r.errors(), r.throughput(), r.meanMs(), r.p50Ms(), r.p90Ms(), r.p95Ms(),
+                    r.p99Ms(), r.maxMs());
+        }
+    }
+
+    public Path save() throws IOException {
+        Files.createDirectories(config.resultsDir());
+        String name = FILE_TIMESTAMP.format(finishedAt) + (config.label().isBlank() ? "" : "-" + config.label());
+        Path file = config.resultsDir().resolve(name + ".json");
+
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("baseUrl", config.baseUrl());
+        settings.put("threads", config.threads());
+        settings.put("warmupSeconds", config.warmup().toSeconds());
+        settings.put("durationSeconds", config.duration().toSeconds());
+        settings.put("mix", config.mix());
+        settings.put("categories", config.categories());
+        settings.put("products", config.products());
+        settings.put("enquiries", config.enquiries());
+        settings.put("randomSeed", config.randomSeed());
+
+        Map<String, Object> document = new LinkedHashMap<>();
+        document.put("label", config.label());
+        document.put("finishedAt", finishedAt.toString());
+        document.put("config", settings);
+        document.put("endpoints", results);
+
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), document);
+        return file;
+    }
+
+    /**
+     * Print throughput and p99 change of each endpoint against a saved run
+     */
+    public void compare(Path baselineFile) throws IOException {
+        JsonNode baseline = new ObjectMapper().readTree(baselineFile.toFile());
+        Map<String, JsonNode> previous = new LinkedHashMap<>();
+        for (JsonNode node : baseline.path("endpoints")) {
+            previous.put(node.path("endpoint").asText(), node);
+        }
+
+        System.out.println();
+        System.out.printf("Compared with %s (%s)%n", baselineFile, baseline.path("label").asText(""));
+        System.out.printf("%-32s %9s %9s %8s %9s %9s %8s%n", "endpoint", "req/s", "was", "change",
+                "p99 ms", "was", "change");
+        for (EndpointResult r : results) {
+            JsonNode old = previous.get(r.endpoint());
+            if (old == null) {
+                System.out.printf("%-32s %9.1f %9s %8s %9.2f %9s %8s%n", r.endpoint(), r.throughput(), "-", "new",
+                        r.p99Ms(), "-", "new");
+                continue;
+            }
+            double oldThroughput = old.path("throughput").asDouble();
+            double oldP99 = old.path("p99Ms").asDouble();
+            System.out.printf("%-32s %9.1f %9.1f %8s %9.2f %9.2f %8s%n", r.endpoint(), r.throughput(),
+                    oldThroughput, change(r.throughput(), oldThroughput), r.p99Ms(), oldP99,
+                    change(r.p99Ms(), oldP99));
+        }
+    }
+
+    private static String change(double current, double previous) {
+        if (previous == 0) {
+            return "-";
+        }
+        return String.format("%+.1f%%", (current - previous) / previous * 100);
+    }
+
+    public record EndpointResult(String endpoint, long requests, long errors, double throughput, double meanMs,
+            double p50Ms, double p90Ms, double p95Ms, double p99Ms, double maxMs) {
+
+        static EndpointResult of(String endpoint, LatencyRecorder.Samples samples, double seconds) {
+            double[] sorted = samples.sortedMillis();
+            double sum = 0;
+            for (double value : sorted) {
+                sum += value;
+            }
+            return new EndpointResult(endpoint, samples.count(), samples.errors(),
+                    round(seconds > 0 ? samples.count() / seconds : 0),
+                    round(sorted.length > 0 ? sum / sorted.length : 0),
+                    round(LatencyRecorder.Samples.percentile(sorted, 50)),
+                    round(LatencyRecorder.Samples.percentile(sorted, 90)),
+                    round(LatencyRecorder.Samples.percentile(sorted, 95)),
+                    round(LatencyRecorder.Samples.percentile(sorted, 99)),
+                    round(sorted.length > 0 ? sorted[sorted.length - 1] : 0));
+        }
+
+        private static double round(double value) {
+            return Math.round(value * 1000) / 1000.0;
+        }
+    }
+}
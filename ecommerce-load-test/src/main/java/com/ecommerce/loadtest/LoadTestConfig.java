@@ -0,0 +1,147 @@
+package com.ecommerce.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Command-line options, all given as {@code --name=value}.
+ */
+public record LoadTestConfig(
+        String baseUrl,
+        int categories,
+        int products,
+        int enquiries,
+        boolean seed,
+        boolean seedOnly,
+        String jdbcUrl,
+        String jdbcUser,
+        String jdbcPassword,
+        int threads,
+        Duration warmup,
+        Duration duration,
+        Map<Operation, Integer> mix,
+        long randomSeed,
+        Path resultsDir,
+        String label,
+        Path compareTo) {
+
+    static final String USAGE = """
+            Usage: mvn -q exec:java -Dexec.args="[options]"
+
+              --base-url=http://localhost:8080/api   service under test
+              --categories=20 --products=5000 --enquiries=20000
+                                                     synthetic data set size
+              --seed=true                            seed before the run (false to reuse existing data)
+              --seed-only=false                      seed and exit
+              --jdbc-url=                            seed directly over JDBC (MySQL or H2 server/file URL)
+                                                     instead of through the REST API
+              --jdbc-user=root --jdbc-password=
+              --threads=16                           concurrent closed-loop workers
+              --warmup=15s --duration=60s            warm-up (not recorded) and measured phase
+              --mix=browse:45,search:20,price:15,enquiry:10,admin:10
+                                                     relative operation weights
+              --random-seed=42                       makes data and request sequences reproducible
+              --results-dir=results --label=         where the JSON result is saved and its name tag
+              --compare=results/<file>.json          print deltas against an earlier run
+            """;
+
+    static LoadTestConfig parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (arg.equals("--help") || arg.equals("-h")) {
+                throw new IllegalArgumentException(USAGE);
+            }
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Unrecognised argument '" + arg + "'\n" + USAGE);
+            }
+            int eq = arg.indexOf('=');
+            options.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+
+        LoadTestConfig config = new LoadTestConfig(
+                stripTrailingSlash(options.getOrDefault("base-url", "http://localhost:8080/api")),
+                intOption(options, "categories", 20),
+                intOption(options, "products", 5_000),
+                intOption(options, "enquiries", 20_000),
+                Boolean.parseBoolean(options.getOrDefault("seed", "true")),
+                Boolean.parseBoolean(options.getOrDefault("seed-only", "false")),
+                emptyToNull(options.get("jdbc-url")),
+                options.getOrDefault("jdbc-user", "root"),
+                options.getOrDefault("jdbc-password", ""),
+                intOption(options, "threads", 16),
+                durationOption(options, "warmup", Duration.ofSeconds(15)),
+                durationOption(options, "duration", Duration.ofSeconds(60)),
+                parseMix(options.getOrDefault("mix", "browse:45,search:20,price:15,enquiry:10,admin:10")),
+                Long.parseLong(options.getOrDefault("random-seed", "42")),
+                Path.of(options.getOrDefault("results-dir", "results")),
+                options.getOrDefault("label", ""),
+                options.containsKey("compare") ? Path.of(options.get("compare")) : null);
+
+        options.keySet().removeAll(List.of("base-url", "categories", "products", "enquiries", "seed",
+                "seed-only", "jdbc-url", "jdbc-user", "jdbc-password", "threads", "warmup", "duration", "mix",
+                "random-seed", "results-dir", "label", "compare"));
+        if (!options.isEmpty()) {
+            throw new IllegalArgumentException("Unknown options " + options.keySet() + "\n" + USAGE);
+        }
+        if (config.categories() < 1 || config.products() < 1 || config.threads() < 1) {
+            throw new IllegalArgumentException("categories, products and threads must be at least 1");
+        }
+        return config;
+    }
+
+    private static Map<Operation, Integer> parseMix(String value) {
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        for (String part : value.split(",")) {
+            String[] kv = part.trim().split(":");
+            if (kv.length != 2) {
+                throw new IllegalArgumentException("Invalid mix entry '" + part + "', expected name:weight");
+            }
+            int weight = Integer.parseInt(kv[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Mix weights cannot be negative");
+            }
+            mix.put(Operation.fromName(kv[0].trim()), weight);
+        }
+        if (mix.values().stream().mapToInt(Integer::intValue).sum() == 0) {
+            throw new IllegalArgumentException("Mix needs at least one positive weight");
+        }
+        return mix;
+    }
+
+    private static int intOption(Map<String, String> options, String name, int defaultValue) {
+        String value = options.get(name);
+        return value == null ? defaultValue : Integer.parseInt(value);
+    }
+
+    /**
+     * Accepts plain seconds or a number with an ms/s/m suffix
+     */
+    private static Duration durationOption(Map<String, String> options, String name, Duration defaultValue) {
+        String value = options.get(name);
+        if (value == null) {
+            return defaultValue;
+        }
+        if (value.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        }
+        if (value.endsWith("s")) {
+            return Duration.ofSeconds(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        if (value.endsWith("m")) {
+            return Duration.ofMinutes(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        return Duration.ofSeconds(Long.parseLong(value));
+    }
+
+    private static String stripTrailingSlash(String url) {
+        return url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+    }
+
+    private static String emptyToNull(String value) {
+        return value == null || value.isBlank() ? null : value;
+    }
+}
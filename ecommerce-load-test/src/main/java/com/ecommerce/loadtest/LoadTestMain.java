@@ -0,0 +1,61 @@
+package com.ecommerce.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Seeds a synthetic catalog into a running ecommerce-core-service, drives a
+ * mixed browse/search/price/enquiry/admin workload against it and reports
+ * per-endpoint throughput and latency percentiles.
+ */
+public class LoadTestMain {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config;
+        try {
+            config = LoadTestConfig.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.exit(2);
+            return;
+        }
+
+        ServiceClient client = new ServiceClient(config.baseUrl());
+        client.awaitHealthy(Duration.ofSeconds(60));
+        SyntheticCatalog catalog = new SyntheticCatalog(config.randomSeed(), config.categories(),
+                config.products(), config.enquiries());
+
+        if (config.seed()) {
+            Seeder seeder = config.jdbcUrl() != null
+                    ? new JdbcSeeder(config.jdbcUrl(), config.jdbcUser(), config.jdbcPassword())
+                    : new ApiSeeder(client, config.threads());
+            long start = System.nanoTime();
+            seeder.seed(catalog);
+            System.out.printf("Seeding took %.1fs%n", (System.nanoTime() - start) / 1e9);
+        }
+        if (config.seedOnly()) {
+            System.exit(0);
+        }
+
+        List<Long> categoryIds = client.listIds("/categories");
+        List<Long> productIds = client.listIds("/products");
+        if (categoryIds.isEmpty() || productIds.isEmpty()) {
+            System.err.println("No active categories or products found; run with --seed=true first");
+            System.exit(1);
+        }
+        System.out.printf("Running %d threads against %s: %d categories, %d products, warm-up %ds, measure %ds%n",
+                config.threads(), config.baseUrl(), categoryIds.size(), productIds.size(),
+                config.warmup().toSeconds(), config.duration().toSeconds());
+
+        LatencyRecorder recorder = new LoadDriver(config, client, catalog, categoryIds, productIds).run();
+        LoadReport report = new LoadReport(config, recorder);
+        report.print();
+        Path saved = report.save();
+        System.out.printf("%nSaved results to %s%n", saved);
+        if (config.compareTo() != null) {
+            report.compare(config.compareTo());
+        }
+        System.exit(0);
+    }
+}
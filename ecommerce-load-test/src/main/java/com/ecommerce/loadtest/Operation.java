@@ -0,0 +1,30 @@
+package com.ecommerce.loadtest;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Workload mix entries, selected by weight for every request
+ */
+public enum Operation {
+    BROWSE("browse"),
+    SEARCH("search"),
+    PRICE("price"),
+    ENQUIRY("enquiry"),
+    ADMIN("admin");
+
+    private final String optionName;
+
+    Operation(String optionName) {
+        this.optionName = optionName;
+    }
+
+    static Operation fromName(String name) {
+        String normalized = name.toLowerCase(Locale.ROOT);
+        return Arrays.stream(values())
+                .filter(op -> op.optionName.equals(normalized))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown operation '" + name
+                        + "', expected one of browse, search, price, enquiry, admin"));
+    }
+}
@@ -0,0 +1,9 @@
+package com.ecommerce.loadtest;
+
+/**
+ * Writes a {@link SyntheticCatalog} into the service's database
+ */
+public interface Seeder {
+
+    void seed(SyntheticCatalog catalog) throws Exception;
+}
@@ -0,0 +1,124 @@
+package com.ecommerce.loadtest;
+
+import java.time.LocalDateTime;
+import java.util.Random;
+
+/**
+ * Deterministic synthetic data set. Every item is derived from the random
+ * seed and its index, so large catalogs never have to be held in memory and
+ * the same seed always yields the same data.
+ */
+public class SyntheticCatalog {
+
+    static final String[] ADJECTIVES = { "Premium", "Wireless", "Compact", "Classic", "Smart", "Portable",
+            "Organic", "Deluxe", "Ultra", "Eco", "Pro", "Vintage", "Modern", "Rugged", "Slim" };
+    static final String[] NOUNS = { "Laptop", "Headphones", "Watch", "Earbuds", "Jacket", "Sneakers", "Wallet",
+            "Coffee Maker", "Blanket", "Yoga Mat", "Tracker", "Dumbbell", "Novel", "Cookbook", "Toothbrush",
+            "Backpack", "Lamp", "Speaker", "Camera", "Keyboard" };
+    static final String[] DESCRIPTION_WORDS = { "durable", "lightweight", "battery", "design", "quality",
+            "comfort", "performance", "stainless", "waterproof", "ergonomic", "noise", "cancelling", "cotton",
+            "leather", "rechargeable", "adjustable", "bluetooth", "warranty", "gift", "travel" };
+    private static final String[] DEPARTMENTS = { "Electronics", "Fashion", "Home", "Sports", "Books", "Beauty",
+            "Toys", "Garden", "Automotive", "Grocery" };
+    private static final String[] FIRST_NAMES = { "Ava", "Liam", "Noah", "Mia", "Zoe", "Ethan", "Ivy", "Omar",
+            "Lena", "Raj" };
+    private static final String[] LAST_NAMES = { "Smith", "Patel", "Garcia", "Chen", "Kim", "Novak", "Silva",
+            "Okafor", "Berg", "Rossi" };
+
+    private final long seed;
+    private final int categories;
+    private final int products;
+    private final int enquiries;
+
+    public SyntheticCatalog(long seed, int categories, int products, int enquiries) {
+        this.seed = seed;
+        this.categories = categories;
+        this.products = products;
+        this.enquiries = enquiries;
+    }
+
+    public int categoryCount() {
+        return categories;
+    }
+
+    public int productCount() {
+        return products;
+    }
+
+    public int enquiryCount() {
+        return enquiries;
+    }
+
+    public Category category(int index) {
+        Random random = random(1, index);
+        String department = DEPARTMENTS[index % DEPARTMENTS.length];
+        String name = department + " " + (index / DEPARTMENTS.length + 1) + " #" + Long.toHexString(seed);
+        return new Category(name, sentence(random, 8 + random.nextInt(10)),
+                "https://images.example.com/categories/" + index + ".jpg");
+    }
+
+    public Product product(int index) {
+        Random random = random(2, index);
+        String name = ADJECTIVES[random.nextInt(ADJECTIVES.length)] + " " + NOUNS[random.nextInt(NOUNS.length)]
+                + " " + (index + 1);
+        // Log-normal-ish prices: many cheap items, a long expensive tail
+        double price = Math.round(Math.exp(2 + random.nextGaussian() * 1.1 + 1.5) * 100) / 100.0;
+        price = Math.max(0.99, Math.min(999_999.0, price));
+        return new Product(name,
+                sentence(random, 20 + random.nextInt(180)),
+                price,
+                random.nextInt(categories),
+                "https://images.example.com/products/" + index + ".jpg",
+                random.nextInt(500),
+                Math.round(random.nextDouble() * 50) / 10.0);
+    }
+
+    public Enquiry enquiry(int index) {
+        Random random = random(3, index);
+        String first = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+        String last = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+        // A few thousand repeat customers, so per-email history exists
+        int customer = random.nextInt(Math.max(1, enquiries / 4));
+        int roll = random.nextInt(100);
+        String status = roll < 30 ? "PENDING" : roll < 45 ? "REVIEWED" : "RESOLVED";
+        return new Enquiry(first + " " + last,
+                (first + "." + last + customer + "@example.com").toLowerCase(),
+                "+1-555-" + String.format("%04d", random.nextInt(10_000)),
+                "Question about availability: " + sentence(random, 8 + random.nextInt(30)),
+                random.nextInt(products),
+                status,
+                LocalDateTime.now().minusMinutes(random.nextInt(2 * 365 * 24 * 60)));
+    }
+
+    static String sentence(Random random, int words) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                sb.append(' ');
+            }
+            sb.append(DESCRIPTION_WORDS[random.nextInt(DESCRIPTION_WORDS.length)]);
+        }
+        return sb.append('.').toString();
+    }
+
+    private Random random(int kind, int index) {
+        return new Random(seed * 31 + kind * 1_000_003L + index);
+    }
+
+    public record Category(String name, String description, String image) {
+    }
+
+    /**
+     * {@code categoryIndex} refers to {@link #category(int)}, not a database id
+     */
+    public record Product(String name, String description, double price, int categoryIndex, String image,
+            int stock, double rating) {
+    }
+
+    /**
+     * {@code productIndex} refers to {@link #product(int)}, not a database id
+     */
+    public record Enquiry(String name, String email, String phone, String message, int productIndex,
+            String status, LocalDateTime createdAt) {
+    }
+}